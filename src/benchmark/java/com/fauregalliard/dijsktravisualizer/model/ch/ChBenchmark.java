@@ -0,0 +1,65 @@
+package com.fauregalliard.dijsktravisualizer.model.ch;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+
+import java.util.Random;
+
+/**
+ * Compares query latency of {@link ContractionHierarchy} against {@link DijkstraAlgorithm} on a
+ * random graph and checks that both return the same distances.
+ * Usage: {@code ChBenchmark [nodes] [density%] [maxWeight] [queries]}.
+ */
+public class ChBenchmark {
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int density = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int maxWeight = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        Graph graph = new Graph();
+        graph.createNodes(nodes);
+        graph.createEdges(maxWeight, density);
+        System.out.printf("Graph: %d nodes, %d edges%n", graph.nodes.size(), graph.edges.size());
+
+        long t0 = System.nanoTime();
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        long preprocessing = System.nanoTime() - t0;
+        System.out.printf("Preprocessing: %.1f ms, %d shortcuts%n", preprocessing / 1e6, ch.getShortcutCount());
+
+        Random random = new Random(7);
+        Node[] sources = new Node[queries];
+        Node[] targets = new Node[queries];
+        for (int i = 0; i < queries; i++) {
+            sources[i] = graph.nodes.get(random.nextInt(nodes));
+            targets[i] = graph.nodes.get(random.nextInt(nodes));
+        }
+
+        long dijkstraTime = 0, chTime = 0, dijkstraSettled = 0, chSettled = 0;
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            PathResult expected = DijkstraAlgorithm.calculateShortestPath(graph, sources[i], targets[i]);
+            dijkstraTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PathResult actual = ch.calculateShortestPath(sources[i], targets[i]);
+            chTime += System.nanoTime() - start;
+
+            if (expected.getDistance() != actual.getDistance()) {
+                throw new IllegalStateException("Distance mismatch for " + sources[i].getId() + " -> "
+                        + targets[i].getId() + ": " + expected.getDistance() + " vs " + actual.getDistance());
+            }
+            dijkstraSettled += expected.getSettledCount();
+            chSettled += actual.getSettledCount();
+        }
+
+        System.out.printf("Dijkstra: %.3f ms/query, %.0f settled/query%n",
+                dijkstraTime / 1e6 / queries, (double) dijkstraSettled / queries);
+        System.out.printf("CH:       %.3f ms/query, %.0f settled/query%n",
+                chTime / 1e6 / queries, (double) chSettled / queries);
+        System.out.printf("Speed-up: %.1fx%n", (double) dijkstraTime / Math.max(1, chTime));
+    }
+}
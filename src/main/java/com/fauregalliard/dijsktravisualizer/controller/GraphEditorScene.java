@@ -3,14 +3,20 @@ package com.fauregalliard.dijsktravisualizer.controller;
 import com.fauregalliard.dijsktravisualizer.model.Edge;
 import com.fauregalliard.dijsktravisualizer.model.Graph;
 import com.fauregalliard.dijsktravisualizer.model.Node;
+import com.fauregalliard.dijsktravisualizer.model.io.GraphSnapshot;
 import com.fauregalliard.dijsktravisualizer.util.Util;
 import com.fauregalliard.dijsktravisualizer.view.GraphRenderer;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
 public class GraphEditorScene {
     private final Scene scene;
     private double density;
@@ -21,6 +27,10 @@ public class GraphEditorScene {
     private Stage stage;
 
     public GraphEditorScene(Stage stage, int nodeCount, String mode, int density, int maxWeight) {
+        this(stage, nodeCount, mode, density, maxWeight, new Random().nextLong());
+    }
+
+    public GraphEditorScene(Stage stage, int nodeCount, String mode, int density, int maxWeight, long seed) {
         this.density = density;
         this.maxWeight = maxWeight;
         this.grafo = new Graph();
@@ -31,7 +41,7 @@ public class GraphEditorScene {
         canvasPane.setPickOnBounds(false);
 
         grafo.createNodes(nodeCount);
-        grafo.createEdges(maxWeight, density);
+        grafo.createEdges(maxWeight, density, seed);
         graphRenderer.renderGraph(grafo, canvasPane);
 
         scene = createScene();
@@ -80,6 +90,8 @@ public class GraphEditorScene {
         };
         Button addEdgeBtn = Util.createButton("Add Edge", 100);
         addEdgeBtn.setOnAction(e -> handleAddEdge(fields[0], fields[1], fields[2]));
+        Button updateWeightBtn = Util.createButton("Update Weight", 120);
+        updateWeightBtn.setOnAction(e -> handleUpdateWeight(fields[0], fields[1], fields[2]));
 
         Label edgeLabel = new Label("Add Edge");
         edgeLabel.getStyleClass().add("title2"); // Add title style class
@@ -90,7 +102,7 @@ public class GraphEditorScene {
             Label lbl = new Label(labels[i]);
             edgeBox.getChildren().add(new HBox(5, lbl, fields[i]));
         }
-        edgeBox.getChildren().add(addEdgeBtn);
+        edgeBox.getChildren().addAll(addEdgeBtn, updateWeightBtn);
 
         TextField nField = Util.createTextField("Number of nodes", 60);
         Button addNodeBtn = Util.createButton("Add Node(s)", 120);
@@ -102,11 +114,19 @@ public class GraphEditorScene {
         VBox nodeBox = new VBox(5, new HBox(5, numNodesLabel, nField), addNodeBtn);
         nodeBox.setAlignment(Pos.CENTER);
 
+        Button saveBtn = Util.createButton("Save", 100);
+        saveBtn.setOnAction(e -> handleSave());
+        Button openBtn = Util.createButton("Open", 100);
+        openBtn.setOnAction(e -> handleOpen());
+        HBox fileBox = new HBox(10, saveBtn, openBtn);
+        fileBox.setAlignment(Pos.CENTER);
+
         Button continueBtn = Util.createButton("Continue", 100);
         continueBtn.setOnAction(e -> stage.setScene(new SourceTargetScene(stage, graphRenderer, grafo).getScene()));
 
         leftPanel.getChildren().addAll(
                 new VBox(10, edgeLabel, edgeBox, new Separator(), nodeLabel, nodeBox),
+                fileBox,
                 continueBtn
         );
 
@@ -143,9 +163,7 @@ public class GraphEditorScene {
                 return;
             }
 
-            if (grafo.edges.stream().anyMatch(e ->
-                    (e.getFrom().getId() == u && e.getTo().getId() == v) ||
-                            (e.getFrom().getId() == v && e.getTo().getId() == u))) {
+            if (grafo.edgeExists(nodoU, nodoV)) {
                 Util.showAlert("Error", "Edge already exists between " + u + " and " + v);
                 return;
             }
@@ -168,6 +186,46 @@ public class GraphEditorScene {
         }
     }
 
+    private void handleUpdateWeight(TextField uField, TextField vField, TextField wField) {
+        try {
+            String uText = uField.getText().trim();
+            String vText = vField.getText().trim();
+            String wText = wField.getText().trim();
+
+            if (uText.isEmpty() || vText.isEmpty() || wText.isEmpty()) {
+                Util.showAlert("Error", "All fields must be filled");
+                return;
+            }
+
+            int u = Integer.parseInt(uText);
+            int v = Integer.parseInt(vText);
+            int weight = Integer.parseInt(wText);
+
+            if (weight <= 0 || weight > 100) {
+                Util.showAlert("Error", "Weight must be between 1 and 100");
+                return;
+            }
+
+            Node nodoU = grafo.getFromId(u);
+            Node nodoV = grafo.getFromId(v);
+            Edge edge = nodoU == null || nodoV == null ? null : grafo.getEdge(nodoU, nodoV);
+            if (edge == null) {
+                Util.showAlert("Error", "No edge from " + u + " to " + v);
+                return;
+            }
+
+            // El árbol incremental detecta el cambio de peso al volver a la escena de búsqueda
+            grafo.setEdgeWeight(edge, weight);
+            uField.clear();
+            vField.clear();
+            wField.clear();
+
+            graphRenderer.renderGraph(grafo, canvasPane);
+        } catch (NumberFormatException ex) {
+            Util.showAlert("Error", "Please enter valid numeric values");
+        }
+    }
+
     private void handleAddNodes(TextField nField) {
         try {
             int nodesToAdd = nField.getText().trim().isEmpty() ? 1 : Integer.parseInt(nField.getText().trim());
@@ -190,6 +248,41 @@ public class GraphEditorScene {
         }
     }
 
+    private FileChooser snapshotChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Graph snapshot", "*." + GraphSnapshot.EXTENSION));
+        return chooser;
+    }
+
+    private void handleSave() {
+        File file = snapshotChooser("Save graph").showSaveDialog(stage);
+        if (file == null) return;
+        try {
+            GraphSnapshot.write(file.toPath(), grafo, graphRenderer.getNodeCoordinates());
+        } catch (IOException ex) {
+            Util.showAlert("Error", "Cannot save " + file.getName() + ": " + ex.getMessage());
+        }
+    }
+
+    private void handleOpen() {
+        File file = snapshotChooser("Open graph").showOpenDialog(stage);
+        if (file == null) return;
+        try {
+            GraphSnapshot snapshot = GraphSnapshot.open(file.toPath());
+            Graph loaded = snapshot.toGraph();
+            GraphRenderer renderer = new GraphRenderer();
+            renderer.createNodes(loaded.nodes);
+            if (snapshot.hasCoordinates()) {
+                renderer.applyLayout(snapshot.layout(loaded));
+            }
+            stage.setScene(new GraphEditorScene(stage, loaded, renderer).getScene());
+        } catch (IOException ex) {
+            Util.showAlert("Error", "Cannot open " + file.getName() + ": " + ex.getMessage());
+        }
+    }
+
     public Scene getScene() {
         return scene;
     }
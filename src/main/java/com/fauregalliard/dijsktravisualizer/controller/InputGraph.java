@@ -1,6 +1,8 @@
 package com.fauregalliard.dijsktravisualizer.controller;
 
 import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.io.CompetitiveFormatParser;
+import com.fauregalliard.dijsktravisualizer.model.io.GraphFormatException;
 import com.fauregalliard.dijsktravisualizer.util.Util;
 import com.fauregalliard.dijsktravisualizer.view.GraphRenderer;
 import javafx.geometry.Insets;
@@ -11,8 +13,12 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+
 public class InputGraph
 {
     private final Scene scene;
@@ -49,18 +55,38 @@ public class InputGraph
         GraphRenderer graphRenderer = new GraphRenderer();
         graphRenderer.renderGraph(grafo,canvasPane);
         Button nextBtn = Util.createButton("Continue",150);
+        Button loadBtn = Util.createButton("Load File",150);
 
-        VBox vcontainer = new VBox(20,personalizedInfo,canvasPane ,nextBtn);
+        VBox vcontainer = new VBox(20,personalizedInfo,canvasPane ,nextBtn, loadBtn);
         vcontainer.setAlignment(Pos.CENTER);
         vcontainer.setPadding(new Insets(0, 0, 0, 20));
 
 
         nextBtn.setOnAction(e -> {
             String inputText = input.getText();
-            Graph inputGraph = CreateInputGraph(inputText);
-            GraphRenderer graphRenderer1 = new GraphRenderer();
-            stage.setScene(new GraphEditorScene(stage, inputGraph,  graphRenderer1 ).getScene());
+            try {
+                Graph inputGraph = CreateInputGraph(inputText);
+                GraphRenderer graphRenderer1 = new GraphRenderer();
+                stage.setScene(new GraphEditorScene(stage, inputGraph,  graphRenderer1 ).getScene());
+            } catch (GraphFormatException ex) {
+                Util.showAlert("Error", ex.getMessage());
+            }
+        });
 
+        // Ficheros grandes: se leen directamente sin pasar por el TextArea
+        loadBtn.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Open graph");
+            File file = chooser.showOpenDialog(stage);
+            if (file == null) return;
+            try {
+                Graph inputGraph = CompetitiveFormatParser.parse(file.toPath()).toGraph();
+                stage.setScene(new GraphEditorScene(stage, inputGraph, new GraphRenderer()).getScene());
+            } catch (GraphFormatException ex) {
+                Util.showAlert("Error", file.getName() + ": " + ex.getMessage());
+            } catch (IOException ex) {
+                Util.showAlert("Error", "Cannot read " + file.getName() + ": " + ex.getMessage());
+            }
         });
 
         BorderPane root = new BorderPane();
@@ -74,25 +100,7 @@ public class InputGraph
     }
 
     public Graph CreateInputGraph(String inputText){
-        Graph inputGraph = new Graph();
-        String[] lines = inputText.strip().split("\\r?\\n");
-        if (lines.length < 1) return inputGraph;
-        String[] firstLine = lines[0].trim().split("\\s+");
-        int n = Integer.parseInt(firstLine[0]);
-        int e = Integer.parseInt(firstLine[1]);
-        inputGraph.createNodes(n);
-        for (int i = 1; i <= e && i < lines.length; i++) {
-            String[] parts = lines[i].trim().split("\\s+");
-            if (parts.length < 3) continue; // ignorar líneas inválidas
-            int from = Integer.parseInt(parts[0]);
-            int to = Integer.parseInt(parts[1]);
-            int weight = Integer.parseInt(parts[2]);
-
-            inputGraph.addEdge(inputGraph.getFromId(from), inputGraph.getFromId(to), weight);
-        }
-
-
-        return inputGraph;
+        return CompetitiveFormatParser.parse(inputText).toGraph();
     }
 
     public Scene getScene() {
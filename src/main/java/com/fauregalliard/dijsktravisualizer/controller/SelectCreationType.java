@@ -1,5 +1,8 @@
 package com.fauregalliard.dijsktravisualizer.controller;
 import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.io.GraphFileImporter;
+import com.fauregalliard.dijsktravisualizer.model.io.GraphFormatException;
+import com.fauregalliard.dijsktravisualizer.model.io.ParsedGraph;
 import com.fauregalliard.dijsktravisualizer.view.GraphRenderer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -11,11 +14,17 @@ import javafx.scene.control.TextArea;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+
 
 public class SelectCreationType {
 
+    private static final int MAX_EDITABLE_NODES = 100_000;
+
     private final Scene scene;
     public SelectCreationType(Stage stage){
         BorderPane root = new BorderPane();
@@ -63,11 +72,23 @@ public class SelectCreationType {
         graphRenderer.renderGraph(grafo,canvasPane);
 
 
+        Button importGraph = Util.createButton("Import File",140);
+        importGraph.setOnAction(e -> importFile(stage));
+        TextArea importInfo = new TextArea("Load a large graph from a file:\n-DIMACS shortest path (.gr)" +
+                "\n-Edge list: one \"u v [w]\" per line\nThe file is parsed in parallel.");
+        importInfo.getStyleClass().add("info-area");
+        importInfo.setEditable(false);
+        importInfo.setWrapText(true);
+        importInfo.setMaxWidth(260);
+        importInfo.setMaxHeight(120);
+
         VBox randomContainer = new VBox(20,randomInfo,imagenView, randomGraph);
         VBox personalizedContainer = new VBox(20,personalizedInfo,canvasPane,personalizedGraph);
         randomContainer.setAlignment(Pos.CENTER);
         personalizedContainer.setAlignment(Pos.CENTER);
-        HBox centerBox = new HBox(20,randomContainer,personalizedContainer);
+        VBox importContainer = new VBox(20,importInfo,importGraph);
+        importContainer.setAlignment(Pos.CENTER);
+        HBox centerBox = new HBox(20,randomContainer,personalizedContainer,importContainer);
         centerBox.setAlignment(Pos.CENTER);
 
 
@@ -79,6 +100,37 @@ public class SelectCreationType {
         scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
     }
 
+    private void importFile(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import graph");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Graph files", "*.gr", "*.txt", "*.edges", "*.el"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) return;
+
+        try {
+            GraphFileImporter.Result result = GraphFileImporter.load(file.toPath());
+            ParsedGraph parsed = result.getGraph();
+            String summary = String.format("%s: %d nodes, %d edges%n%.1f MB in %.0f ms (%.1f MB/s)",
+                    file.getName(), parsed.nodeCount(), parsed.edgeCount(),
+                    result.getBytes() / 1e6, result.getNanos() / 1e6, result.getMegabytesPerSecond());
+
+            // Los grafos grandes se dibujan en un solo lienzo, pero montar el editor para millones de
+            // vértices tarda demasiado: esos solo se cargan
+            if (parsed.nodeCount() > MAX_EDITABLE_NODES) {
+                Util.showInfo("Import", summary + "\nToo many nodes to display (limit " + MAX_EDITABLE_NODES + ").");
+                return;
+            }
+            Util.showInfo("Import", summary);
+            stage.setScene(new GraphEditorScene(stage, parsed.toGraph(), new GraphRenderer()).getScene());
+        } catch (GraphFormatException ex) {
+            Util.showAlert("Error", file.getName() + ": " + ex.getMessage());
+        } catch (IOException ex) {
+            Util.showAlert("Error", "Cannot read " + file.getName() + ": " + ex.getMessage());
+        }
+    }
+
     public Scene getScene() {
         return scene;
     }
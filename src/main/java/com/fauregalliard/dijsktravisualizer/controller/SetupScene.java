@@ -12,6 +12,7 @@ import javafx.scene.control.TextField;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.util.Random;
 import java.util.function.Consumer;
 
 public class SetupScene {
@@ -56,6 +57,12 @@ public class SetupScene {
             centerGrid.add((TextField) components[2], 2, i);
         }
 
+        // Semilla opcional: con la misma semilla y los mismos valores se obtiene el mismo grafo
+        Label seedLabel = new Label("Seed (optional):");
+        TextField seedField = Util.createTextField("Random", 100);
+        centerGrid.add(seedLabel, 0, 3);
+        centerGrid.add(seedField, 1, 3);
+
         Button continueButton = Util.createButton("Continue", Util.BUTTON_WIDTH);
         continueButton.getStyleClass().add("main");
         continueButton.setOnAction(e -> {
@@ -63,10 +70,18 @@ public class SetupScene {
                 Util.showAlert("Error", "Out of range values");
                 return;
             }
-            stage.setScene(new GraphEditorScene(stage, nodeCount, "Manual", density, maxWeight).getScene());
+            long seed;
+            try {
+                String seedText = seedField.getText().trim();
+                seed = seedText.isEmpty() ? new Random().nextLong() : Long.parseLong(seedText);
+            } catch (NumberFormatException ex) {
+                Util.showAlert("Error", "Seed must be an integer");
+                return;
+            }
+            stage.setScene(new GraphEditorScene(stage, nodeCount, "Manual", density, maxWeight, seed).getScene());
         });
 
-        centerGrid.add(continueButton, 0, 3, 3, 1);
+        centerGrid.add(continueButton, 0, 4, 3, 1);
         GridPane.setHalignment(continueButton, HPos.CENTER);
 
         root.setTop(titleBox);
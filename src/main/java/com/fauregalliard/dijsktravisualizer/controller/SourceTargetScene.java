@@ -1,13 +1,21 @@
 package com.fauregalliard.dijsktravisualizer.controller;
 
+import com.fauregalliard.dijsktravisualizer.model.BidirectionalDijkstra;
 import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraStepGenerator;
+import com.fauregalliard.dijsktravisualizer.model.DynamicShortestPathTree;
+import com.fauregalliard.dijsktravisualizer.model.Edge;
+import com.fauregalliard.dijsktravisualizer.model.GeometricAStar;
 import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.LandmarkIndex;
 import com.fauregalliard.dijsktravisualizer.model.Node;
+import com.fauregalliard.dijsktravisualizer.model.QueryCache;
+import com.fauregalliard.dijsktravisualizer.model.SearchMonitor;
+import com.fauregalliard.dijsktravisualizer.model.StepSource;
+import com.fauregalliard.dijsktravisualizer.model.StepTrace;
 import com.fauregalliard.dijsktravisualizer.util.Util;
-import com.fauregalliard.dijsktravisualizer.view.EdgeView;
+import com.fauregalliard.dijsktravisualizer.view.GraphPaint;
 import com.fauregalliard.dijsktravisualizer.view.GraphRenderer;
-import com.fauregalliard.dijsktravisualizer.view.NodeView;
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -15,8 +23,14 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.util.Duration;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class SourceTargetScene {
     private final Scene scene;
@@ -28,9 +42,23 @@ public class SourceTargetScene {
     private TextField sourceField, targetField;
     private boolean nextIsSource = true;
     private Slider speedSlider;
-    private Button runBtn, pauseBtn;
+    private ComboBox<Algorithm> algorithmBox;
+    private LandmarkIndex landmarkIndex;
+    private Button runBtn, findBtn, pauseBtn, cancelBtn, turboBtn;
     private boolean isPaused = false;
     private boolean isRunning = false;
+    private boolean isComputing = false;
+    // Búsqueda o animación en curso; se compara por identidad para ignorar resultados de una ejecución cancelada
+    private SearchMonitor currentRun;
+    private StepPlayer player;
+    private StepTimeline timeline;
+    private Slider timelineSlider;
+    private Label timelineLabel;
+    // Evita que mover el deslizador desde el código se tome como una búsqueda del usuario
+    private boolean syncingTimeline;
+    private GraphPaint paint;
+    // Vistas o lienzo del renderer, por índice de nodo y de arista de grafo
+    private GraphPaint.Target paintTarget;
 
     private static final Color COLOR_DEFAULT = Color.web("#8f8f8f");
     private static final Color COLOR_SOURCE = Color.web("#8c52ff");
@@ -40,11 +68,63 @@ public class SourceTargetScene {
     private static final Color COLOR_UPDATED = Color.web("#00ccff");
     private static final Color COLOR_PATH = Color.web("#ff914d");
     private static final Color COLOR_VISITED = Color.web("#666666");
+    private static final Color COLOR_VISITING_BACKWARD = Color.web("#ff66cc");
+    private static final Color COLOR_CHECKING_BACKWARD = Color.web("#ffb3e6");
+    private static final Color COLOR_UPDATED_BACKWARD = Color.web("#cc66ff");
 
     private static final Color COLOR_EDGE_DEFAULT = Color.web("#f5f5f5");
     private static final Color COLOR_EDGE_CHECKING = Color.web("#ffff00");
     private static final Color COLOR_EDGE_UPDATED = Color.web("#00ccff");
     private static final Color COLOR_EDGE_PATH = Color.web("#ff914d");
+    private static final Color COLOR_EDGE_CHECKING_BACKWARD = Color.web("#ffb3e6");
+    private static final Color COLOR_EDGE_UPDATED_BACKWARD = Color.web("#cc66ff");
+
+    // Códigos de color de GraphPaint: posiciones en las paletas de abajo
+    private static final int NODE_SOURCE = 1, NODE_TARGET = 2, NODE_VISITING = 3, NODE_CHECKING = 4,
+            NODE_UPDATED = 5, NODE_PATH = 6, NODE_VISITED = 7, NODE_VISITING_BACKWARD = 8,
+            NODE_CHECKING_BACKWARD = 9, NODE_UPDATED_BACKWARD = 10;
+    private static final Color[] NODE_PALETTE = {
+            COLOR_DEFAULT, COLOR_SOURCE, COLOR_TARGET, COLOR_VISITING, COLOR_CHECKING, COLOR_UPDATED,
+            COLOR_PATH, COLOR_VISITED, COLOR_VISITING_BACKWARD, COLOR_CHECKING_BACKWARD, COLOR_UPDATED_BACKWARD
+    };
+    private static final int EDGE_CHECKING = 1, EDGE_UPDATED = 2, EDGE_PATH = 3,
+            EDGE_CHECKING_BACKWARD = 4, EDGE_UPDATED_BACKWARD = 5;
+    private static final Color[] EDGE_PALETTE = {
+            COLOR_EDGE_DEFAULT, COLOR_EDGE_CHECKING, COLOR_EDGE_UPDATED, COLOR_EDGE_PATH,
+            COLOR_EDGE_CHECKING_BACKWARD, COLOR_EDGE_UPDATED_BACKWARD
+    };
+    private static final double[] EDGE_WIDTHS = {2, 3, 3, 4, 3, 3};
+
+    private static final int LANDMARK_COUNT = 8;
+
+    // Sobrevive a las idas y vueltas al editor: al volver, los árboles incrementales solo reparan lo que cambió
+    private static final QueryCache queryCache = new QueryCache(32);
+    // Un solo hilo: las búsquedas comparten la caché, los hitos y los árboles incrementales
+    private static final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "shortest-path-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long PROGRESS_INTERVAL_MS = 100;
+
+    private enum Algorithm {
+        DIJKSTRA("Dijkstra"),
+        BIDIRECTIONAL("Bidirectional Dijkstra"),
+        ALT("A* (landmarks)"),
+        GEOMETRIC("A* (layout)"),
+        INCREMENTAL("Incremental tree");
+
+        private final String label;
+
+        Algorithm(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
 
     public SourceTargetScene(Stage stage, GraphRenderer graphRenderer, Graph grafo) {
         this.stage = stage;
@@ -54,6 +134,7 @@ public class SourceTargetScene {
         Pane canvasPane = new Pane();
         canvasPane.setPickOnBounds(false);
         graphRenderer.renderGraph(grafo, canvasPane);
+        paintTarget = graphRenderer.paintTarget(grafo);
 
         setupNodeSelection();
 
@@ -77,33 +158,69 @@ public class SourceTargetScene {
         setupTextField(sourceField, true);
         setupTextField(targetField, false);
 
+        Label algorithmLabel = new Label("Algorithm:");
+        algorithmLabel.getStyleClass().add("title2");
+
+        algorithmBox = new ComboBox<>();
+        algorithmBox.getItems().addAll(Algorithm.values());
+        algorithmBox.setValue(Algorithm.DIJKSTRA);
+        algorithmBox.setPrefWidth(150);
+
         runBtn = Util.createButton("Run Animated", 150);
         runBtn.setOnAction(e -> runDijkstraAnimated());
 
+        findBtn = Util.createButton("Find Path", 150);
+        findBtn.setOnAction(e -> findPath());
+
         pauseBtn = Util.createButton("Pause", 150);
         pauseBtn.setDisable(true);
         pauseBtn.setOnAction(e -> togglePause());
 
+        cancelBtn = Util.createButton("Cancel", 150);
+        cancelBtn.setDisable(true);
+        cancelBtn.setOnAction(e -> cancelRun());
+
+        turboBtn = Util.createButton("Turbo", 150);
+        turboBtn.setDisable(true);
+        turboBtn.setOnAction(e -> startTurbo());
+
         Label speedLabel = new Label("Speed:");
         speedLabel.getStyleClass().add("title2");
 
-        speedSlider = new Slider(100, 2000, 500);
-        speedSlider.setShowTickLabels(true);
+        // Escala logarítmica: de 1 a 10000 pasos por segundo
+        speedSlider = new Slider(0, 4, Math.log10(2));
         speedSlider.setShowTickMarks(true);
-        speedSlider.setMajorTickUnit(500);
-        speedSlider.setBlockIncrement(100);
+        speedSlider.setMajorTickUnit(1);
+        speedSlider.setBlockIncrement(0.1);
         speedSlider.setPrefWidth(150);
 
-        Label speedValueLabel = new Label("500ms");
-        speedSlider.valueProperty().addListener((obs, old, val) ->
-                speedValueLabel.setText(String.format("%.0fms", val.doubleValue()))
-        );
+        Label speedValueLabel = new Label("2 steps/s");
+        speedSlider.valueProperty().addListener((obs, old, val) -> {
+            speedValueLabel.setText(String.format("%.0f steps/s", stepsPerSecond()));
+            if (player != null) player.setStepsPerSecond(stepsPerSecond());
+        });
+
+        Label timelineTitle = new Label("Timeline:");
+        timelineTitle.getStyleClass().add("title2");
+
+        timelineSlider = new Slider(0, 1, 0);
+        timelineSlider.setPrefWidth(150);
+        timelineSlider.setDisable(true);
+        timelineLabel = new Label("Step 0 / 0");
+        timelineSlider.valueProperty().addListener((obs, old, val) -> {
+            if (!syncingTimeline) seekTo((int) Math.round(val.doubleValue()));
+        });
 
         Button clearBtn = Util.createButton("Clear Selection", 150);
         clearBtn.setOnAction(e -> resetAll());
 
         Button backBtn = Util.createButton("Back to Editor", 150);
-        backBtn.setOnAction(e -> stage.setScene(new GraphEditorScene(stage, grafo, graphRenderer).getScene()));
+        backBtn.setOnAction(e -> {
+            // El editor modifica el grafo: la búsqueda en curso debe haber terminado antes de entregárselo
+            cancelRun();
+            awaitSearches();
+            stage.setScene(new GraphEditorScene(stage, grafo, graphRenderer).getScene());
+        });
 
         resultLabel = new Label("Select source and target nodes.");
         resultLabel.setWrapText(true);
@@ -120,8 +237,10 @@ public class SourceTargetScene {
         panel.getChildren().addAll(
                 sourceLabel, sourceField,
                 targetLabel, targetField,
-                runBtn, pauseBtn,
+                algorithmLabel, algorithmBox,
+                runBtn, findBtn, pauseBtn, turboBtn, cancelBtn,
                 speedLabel, speedSlider, speedValueLabel,
+                timelineTitle, timelineSlider, timelineLabel,
                 clearBtn, resultLabel,
                 legend, backBtn
         );
@@ -141,6 +260,8 @@ public class SourceTargetScene {
                 createLegendItem("Checking", COLOR_CHECKING),
                 createLegendItem("Updated", COLOR_UPDATED),
                 createLegendItem("Visited", COLOR_VISITED),
+                createLegendItem("Visiting (backward)", COLOR_VISITING_BACKWARD),
+                createLegendItem("Updated (backward)", COLOR_UPDATED_BACKWARD),
                 createLegendItem("Final path", COLOR_PATH)
         );
 
@@ -172,16 +293,21 @@ public class SourceTargetScene {
     private void togglePause() {
         isPaused = !isPaused;
         pauseBtn.setText(isPaused ? "Resume" : "Pause");
+        if (player != null) player.setPaused(isPaused);
     }
 
     private void setupNodeSelection() {
+        if (graphRenderer.isCanvasMode()) {
+            graphRenderer.getCanvas().setOnNodeDoubleClick(i -> {
+                if (!isRunning) selectNode(grafo.nodes.get(i), nextIsSource);
+            });
+            return;
+        }
         graphRenderer.getViewNodes().forEach(view ->
                 view.getCircle().setOnMouseClicked(e -> {
                     if (e.getClickCount() == 2 && !isRunning) {
-                        grafo.nodes.stream()
-                                .filter(n -> graphRenderer.getNodeView(n) == view)
-                                .findFirst()
-                                .ifPresent(node -> selectNode(node, view, nextIsSource));
+                        Node node = graphRenderer.getNode(view);
+                        if (node != null) selectNode(node, nextIsSource);
                     }
                 })
         );
@@ -200,10 +326,8 @@ public class SourceTargetScene {
 
             try {
                 Node node = grafo.getFromId(Integer.parseInt(val.trim()));
-                NodeView view = graphRenderer.getNodeView(node);
-
-                if (view != null) {
-                    selectNode(node, view, isSource);
+                if (graphRenderer.hasNode(node)) {
+                    selectNode(node, isSource);
                 } else {
                     resultLabel.setText("Invalid node ID");
                     updateNode(null, isSource);
@@ -215,14 +339,16 @@ public class SourceTargetScene {
         });
     }
 
-    private void selectNode(Node node, NodeView view, boolean isSource) {
+    private void selectNode(Node node, boolean isSource) {
         if (node == (isSource ? targetNode : sourceNode)) {
             resultLabel.setText("Cannot select the same node twice.");
             return;
         }
 
+        // Los colores ya no corresponden a la ejecución grabada
+        discardTimeline();
         updateNode(node, isSource);
-        view.getCircle().setFill(isSource ? COLOR_SOURCE : COLOR_TARGET);
+        paintTarget.fillNode(grafo.indexOf(node), isSource ? COLOR_SOURCE : COLOR_TARGET);
         (isSource ? sourceField : targetField).setText(String.valueOf(node.getId()));
         nextIsSource = !isSource;
         updateResultLabel();
@@ -231,8 +357,8 @@ public class SourceTargetScene {
     private void updateNode(Node node, boolean isSource) {
         Node oldNode = isSource ? sourceNode : targetNode;
         if (oldNode != null) {
-            NodeView oldView = graphRenderer.getNodeView(oldNode);
-            if (oldView != null) oldView.getCircle().setFill(COLOR_DEFAULT);
+            int i = grafo.indexOf(oldNode);
+            if (i >= 0) paintTarget.fillNode(i, COLOR_DEFAULT);
         }
         if (isSource) sourceNode = node;
         else targetNode = node;
@@ -241,16 +367,8 @@ public class SourceTargetScene {
     private void resetAll() {
         if (isRunning) return;
 
-        graphRenderer.getViewNodes().forEach(v -> v.getCircle().setFill(COLOR_DEFAULT));
-        graphRenderer.getViewEdges().forEach(edge ->
-                edge.getChildren().stream()
-                        .filter(Line.class::isInstance)
-                        .map(Line.class::cast)
-                        .forEach(l -> {
-                            l.setStroke(COLOR_EDGE_DEFAULT);
-                            l.setStrokeWidth(2);
-                        })
-        );
+        discardTimeline();
+        graphRenderer.resetStyles(COLOR_DEFAULT, COLOR_EDGE_DEFAULT, 2);
 
         sourceNode = targetNode = null;
         sourceField.clear();
@@ -281,150 +399,382 @@ public class SourceTargetScene {
         isRunning = true;
         isPaused = false;
         runBtn.setDisable(true);
+        findBtn.setDisable(true);
         pauseBtn.setDisable(false);
         pauseBtn.setText("Pause");
+        cancelBtn.setDisable(false);
+        turboBtn.setDisable(false);
+        discardTimeline();
+
+        // Estado inicial: todo por defecto salvo origen y destino; el primer volcado lo escribe entero
+        paint = createPaint();
+        paint.flush();
+
+        Algorithm algorithm = algorithmBox.getValue();
+        Node source = sourceNode;
+        Node target = targetNode;
+        // La disposición se lee aquí, en el hilo de JavaFX; el trabajo pesado va al hilo de búsqueda
+        GeometricAStar.Coordinates layout = algorithm == Algorithm.GEOMETRIC
+                ? GeometricAStar.snapshot(grafo, graphRenderer.getNodeCoordinates()) : null;
+
+        SearchMonitor run = startSearch();
+        submitSearch(run, () -> computeAnimated(algorithm, source, target, layout, run),
+                steps -> animateSteps(steps, run));
+    }
 
-        graphRenderer.getViewNodes().forEach(v -> {
-            if (graphRenderer.getNodeView(sourceNode) != v && graphRenderer.getNodeView(targetNode) != v) {
-                v.getCircle().setFill(COLOR_DEFAULT);
+    // Sin animación: el árbol completo del origen queda en caché y otro destino desde él solo recorre padres
+    private void findPath() {
+        if (sourceNode == null || targetNode == null) {
+            resultLabel.setText("Please select both nodes.");
+            return;
+        }
+
+        isRunning = true;
+        runBtn.setDisable(true);
+        findBtn.setDisable(true);
+        cancelBtn.setDisable(false);
+        discardTimeline();
+        paint = createPaint();
+        paint.flush();
+
+        Node source = sourceNode;
+        Node target = targetNode;
+        SearchMonitor run = startSearch();
+        submitSearch(run, () -> queryCache.shortestPath(grafo, source, target, run), this::showFinalPath);
+    }
+
+    private SearchMonitor startSearch() {
+        SearchMonitor run = new SearchMonitor(monitor -> {
+            long work = monitor.getWork();
+            Platform.runLater(() -> {
+                if (currentRun == monitor && isComputing) {
+                    resultLabel.setText("Computing... " + work + " steps");
+                }
+            });
+        }, PROGRESS_INTERVAL_MS);
+        currentRun = run;
+        isComputing = true;
+        resultLabel.setText("Computing...");
+        return run;
+    }
+
+    // search corre en el hilo de búsqueda; onDone, en el de JavaFX y solo si la ejecución sigue viva
+    private <T> void submitSearch(SearchMonitor run, Supplier<T> search, Consumer<T> onDone) {
+        searchExecutor.submit(() -> {
+            try {
+                T result = search.get();
+                Platform.runLater(() -> {
+                    if (currentRun != run) return;
+                    isComputing = false;
+                    onDone.accept(result);
+                });
+            } catch (CancellationException e) {
+                // cancelRun() ya ha devuelto la interfaz a su estado inicial
+            } catch (RuntimeException e) {
+                Platform.runLater(() -> {
+                    if (currentRun != run) return;
+                    endRun();
+                    resultLabel.setText("Search failed: " + e.getMessage());
+                });
             }
         });
-        graphRenderer.getViewEdges().forEach(edge ->
-                edge.getChildren().stream()
-                        .filter(Line.class::isInstance)
-                        .map(Line.class::cast)
-                        .forEach(l -> {
-                            l.setStroke(COLOR_EDGE_DEFAULT);
-                            l.setStrokeWidth(2);
-                        })
-        );
+    }
 
-        DijkstraAlgorithm.AnimatedResult result =
-                DijkstraAlgorithm.calculateShortestPathAnimated(grafo, sourceNode, targetNode);
+    // La cancelación llega en el siguiente punto de control: con un solo hilo, basta esperar a una tarea vacía
+    private static void awaitSearches() {
+        try {
+            searchExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
-        animateSteps(result, 0);
+    private void cancelRun() {
+        if (currentRun == null) return;
+        currentRun.cancel();
+        endRun();
+        resultLabel.setText("Cancelled.");
     }
 
-    private void animateSteps(DijkstraAlgorithm.AnimatedResult result, int stepIndex) {
-        if (stepIndex >= result.getSteps().size()) {
-            showFinalPath(result.getFinalResult());
-            return;
+    private void endRun() {
+        if (player != null) {
+            player.stop();
+            player = null;
         }
+        currentRun = null;
+        isComputing = false;
+        isRunning = false;
+        runBtn.setDisable(false);
+        findBtn.setDisable(false);
+        pauseBtn.setDisable(true);
+        cancelBtn.setDisable(true);
+        turboBtn.setDisable(true);
+    }
 
-        if (isPaused) {
-            PauseTransition pause = new PauseTransition(Duration.millis(100));
-            pause.setOnFinished(e -> animateSteps(result, stepIndex));
-            pause.play();
-            return;
+    // Se ejecuta en el hilo de búsqueda: solo usa los argumentos, nunca los controles de la escena
+    private StepSource computeAnimated(Algorithm algorithm, Node source, Node target,
+                                       GeometricAStar.Coordinates layout, SearchMonitor monitor) {
+        switch (algorithm) {
+            case DIJKSTRA:
+                // Se genera paso a paso mientras se anima: el primer paso sale sin esperar a la búsqueda
+                return new DijkstraStepGenerator(queryCache.compactGraph(grafo), source, target,
+                        DijkstraAlgorithm.DEFAULT_FRONTIER, true);
+            case GEOMETRIC:
+                // Depende de la disposición en pantalla, que la versión del grafo no recoge
+                return GeometricAStar.calculateShortestPathAnimated(grafo, source, target,
+                        layout, GeometricAStar.admissibleScale(grafo, layout), monitor).source();
+            case INCREMENTAL:
+                return computeIncremental(source, target, monitor).source();
+            default:
+                return queryCache.animated(grafo, algorithm.name(), source, target,
+                        () -> computeUncached(algorithm, source, target, monitor)).source();
         }
+    }
+
+    private DijkstraAlgorithm.AnimatedResult computeUncached(Algorithm algorithm, Node source, Node target,
+                                                            SearchMonitor monitor) {
+        switch (algorithm) {
+            case BIDIRECTIONAL:
+                return BidirectionalDijkstra.calculateShortestPathAnimated(grafo, source, target, monitor);
+            case ALT:
+                // El grafo no cambia mientras estamos en esta escena: los hitos se calculan una vez
+                if (landmarkIndex == null) {
+                    landmarkIndex = LandmarkIndex.build(grafo, LANDMARK_COUNT, LandmarkIndex.Strategy.AVOID,
+                            monitor);
+                }
+                return landmarkIndex.calculateShortestPathAnimated(source, target, monitor);
+            default:
+                return DijkstraAlgorithm.calculateShortestPathAnimated(grafo, source, target,
+                        DijkstraAlgorithm.DEFAULT_FRONTIER, true, monitor);
+        }
+    }
 
-        DijkstraAlgorithm.StepInfo step = result.getSteps().get(stepIndex);
+    private DijkstraAlgorithm.AnimatedResult computeIncremental(Node sourceNode, Node targetNode,
+                                                               SearchMonitor monitor) {
+        DynamicShortestPathTree tree = queryCache.dynamicTree(grafo, sourceNode, monitor);
+
+        StepTrace steps = StepTrace.of(grafo);
+        steps.setFormatter(SourceTargetScene::describeRepair);
+        int first = steps.add(DijkstraAlgorithm.StepInfo.StepType.INITIALIZE, grafo.indexOf(sourceNode),
+                StepTrace.NONE, 0, StepTrace.NONE);
+        steps.setNote(first, "Árbol incremental desde el nodo " + sourceNode.getId() + ": "
+                + tree.getLastChanged().size() + " nodos actualizados");
+        // Solo se animan los nodos cuya distancia cambió en la última reparación
+        for (Node node : tree.getLastChanged()) {
+            Edge parent = tree.parentEdge(node);
+            steps.add(DijkstraAlgorithm.StepInfo.StepType.UPDATE_DISTANCE,
+                    parent != null ? grafo.indexOf(parent.getFrom()) : StepTrace.NONE, grafo.indexOf(node),
+                    tree.distance(node), parent != null ? grafo.indexOf(parent) : StepTrace.NONE);
+        }
+
+        DijkstraAlgorithm.PathResult finalResult = tree.pathTo(targetNode);
+        steps.add(DijkstraAlgorithm.StepInfo.StepType.COMPLETE, grafo.indexOf(targetNode), StepTrace.NONE,
+                finalResult.getDistance(), StepTrace.NONE);
+        return new DijkstraAlgorithm.AnimatedResult(steps, finalResult);
+    }
+
+    private static String describeRepair(StepTrace trace, int step) {
+        if (trace.type(step) != DijkstraAlgorithm.StepInfo.StepType.UPDATE_DISTANCE) {
+            return "Algoritmo completado. Distancia final: " + trace.distance(step);
+        }
+        int distance = trace.distance(step);
+        return distance == DynamicShortestPathTree.INF
+                ? "Nodo " + trace.neighborNode(step).getId() + " ya no es alcanzable"
+                : "Distancia reparada: nodo " + trace.neighborNode(step).getId() + " = " + distance;
+    }
 
-        Platform.runLater(() -> {
+    private void animateSteps(StepSource steps, SearchMonitor run) {
+        if (currentRun != run) return; // cancelada
+
+        timeline = new StepTimeline(steps, grafo, paint, this::visualizeStep);
+        timelineSlider.setDisable(false);
+        player = new StepPlayer(timeline, step -> {
+            // Un solo volcado por fotograma, con el texto del último paso aplicado
+            paint.flush();
             resultLabel.setText(step.getDescription());
-            visualizeStep(step);
-        });
+            syncTimeline();
+        }, () -> showFinalPath(timeline.getFinalResult()));
+        player.setStepsPerSecond(stepsPerSecond());
+        player.setPaused(isPaused);
+        player.start();
+    }
+
+    private void seekTo(int position) {
+        if (timeline == null) return;
+        DijkstraAlgorithm.StepInfo step = timeline.seek(position);
+        // Con la animación terminada, el final de la línea de tiempo vuelve a mostrar el camino
+        if (player == null && timeline.isComplete() && timeline.position() == timeline.knownSteps()) {
+            paintFinalPath(timeline.getFinalResult());
+        }
+        paint.flush();
+        if (step != null) {
+            resultLabel.setText(step.getDescription());
+        } else {
+            resultLabel.setText(timeline.position() == 0 ? "Start of the search." : "Older steps were discarded.");
+        }
+        syncTimeline();
+    }
+
+    private void syncTimeline() {
+        syncingTimeline = true;
+        // En búsquedas muy largas solo se conserva la parte reciente
+        timelineSlider.setMin(timeline.firstStep());
+        timelineSlider.setMax(Math.max(timeline.firstStep() + 1, timeline.knownSteps()));
+        timelineSlider.setValue(timeline.position());
+        syncingTimeline = false;
+        timelineLabel.setText("Step " + timeline.position() + " / " + timeline.knownSteps()
+                + (timeline.isComplete() ? "" : "+"));
+    }
 
-        double delay = speedSlider.getValue();
-        PauseTransition pause = new PauseTransition(Duration.millis(delay));
-        pause.setOnFinished(e -> animateSteps(result, stepIndex + 1));
-        pause.play();
+    private void discardTimeline() {
+        timeline = null;
+        syncingTimeline = true;
+        timelineSlider.setMin(0);
+        timelineSlider.setValue(0);
+        syncingTimeline = false;
+        timelineSlider.setDisable(true);
+        timelineLabel.setText("Step 0 / 0");
     }
 
+    private double stepsPerSecond() {
+        return Math.pow(10, speedSlider.getValue());
+    }
+
+    private void startTurbo() {
+        if (player != null) {
+            player.setTurbo(true);
+            turboBtn.setDisable(true);
+        }
+    }
+
+    private GraphPaint createPaint() {
+        GraphPaint created = new GraphPaint(grafo.nodes.size(), grafo.edges.size(),
+                NODE_PALETTE, EDGE_PALETTE, EDGE_WIDTHS, paintTarget);
+        if (sourceNode != null) created.setNode(grafo.indexOf(sourceNode), NODE_SOURCE);
+        if (targetNode != null) created.setNode(grafo.indexOf(targetNode), NODE_TARGET);
+        return created;
+    }
+
+    private int edgeIndex(Node from, Node to, Edge edge) {
+        if (edge != null) return grafo.indexOf(edge);
+        if (from == null || to == null) return -1;
+        Edge found = grafo.getEdge(from, to);
+        if (found == null) found = grafo.getEdge(to, from);
+        return found == null ? -1 : grafo.indexOf(found);
+    }
+
+    private void paintNode(Node node, int code) {
+        int i = grafo.indexOf(node);
+        if (i >= 0) paint.setNode(i, code);
+    }
+
+    private void paintEdge(Node from, Node to, Edge edge, int code) {
+        int i = edgeIndex(from, to, edge);
+        if (i >= 0) paint.setEdge(i, code);
+    }
+
+    // Solo actualiza el estado de colores; la pantalla se actualiza al volcar el fotograma
     private void visualizeStep(DijkstraAlgorithm.StepInfo step) {
-        NodeView currentView = step.getCurrentNode() != null ?
-                graphRenderer.getNodeView(step.getCurrentNode()) : null;
-        NodeView neighborView = step.getNeighborNode() != null ?
-                graphRenderer.getNodeView(step.getNeighborNode()) : null;
+        Node current = step.getCurrentNode();
+        Node neighbor = step.getNeighborNode();
 
         switch (step.getType()) {
             case INITIALIZE:
-                if (currentView != null) {
-                    currentView.getCircle().setFill(COLOR_SOURCE);
+                if (current != null) {
+                    paintNode(current, NODE_SOURCE);
                 }
                 break;
 
             case VISIT_NODE:
-                if (currentView != null) {
-                    if (step.getCurrentNode() != sourceNode && step.getCurrentNode() != targetNode) {
-                        currentView.getCircle().setFill(COLOR_VISITING);
-                    }
+                if (current != null && current != sourceNode && current != targetNode) {
+                    paintNode(current, NODE_VISITING);
                 }
                 break;
 
             case CHECK_NEIGHBOR:
-                if (neighborView != null && step.getNeighborNode() != targetNode) {
-                    neighborView.getCircle().setFill(COLOR_CHECKING);
+                if (neighbor != null && neighbor != targetNode) {
+                    paintNode(neighbor, NODE_CHECKING);
                 }
-                if (currentView != null && neighborView != null) {
-                    highlightEdge(currentView, neighborView, COLOR_EDGE_CHECKING, 3);
+                if (current != null && neighbor != null) {
+                    paintEdge(current, neighbor, step.getEdge(), EDGE_CHECKING);
                 }
                 break;
 
             case UPDATE_DISTANCE:
-                if (neighborView != null && step.getNeighborNode() != targetNode) {
-                    neighborView.getCircle().setFill(COLOR_UPDATED);
+                if (neighbor != null && neighbor != targetNode) {
+                    paintNode(neighbor, NODE_UPDATED);
                 }
-                if (currentView != null && neighborView != null) {
-                    highlightEdge(currentView, neighborView, COLOR_EDGE_UPDATED, 3);
+                if (current != null && neighbor != null) {
+                    paintEdge(current, neighbor, step.getEdge(), EDGE_UPDATED);
                 }
-                if (currentView != null && step.getCurrentNode() != sourceNode &&
-                        step.getCurrentNode() != targetNode) {
-                    currentView.getCircle().setFill(COLOR_VISITED);
+                if (current != null && current != sourceNode && current != targetNode) {
+                    paintNode(current, NODE_VISITED);
                 }
                 break;
-        }
-    }
 
-    private void highlightEdge(NodeView from, NodeView to, Color color, double width) {
-        graphRenderer.getViewEdges().stream()
-                .filter(e -> (e.nodoU == from && e.nodoV == to) || (e.nodoU == to && e.nodoV == from))
-                .findFirst()
-                .ifPresent(edge ->
-                        edge.getChildren().stream()
-                                .filter(Line.class::isInstance)
-                                .map(Line.class::cast)
-                                .forEach(l -> {
-                                    l.setStroke(color);
-                                    l.setStrokeWidth(width);
-                                })
-                );
+            case VISIT_NODE_BACKWARD:
+                if (current != null && current != sourceNode && current != targetNode) {
+                    paintNode(current, NODE_VISITING_BACKWARD);
+                }
+                break;
+
+            case CHECK_NEIGHBOR_BACKWARD:
+                if (neighbor != null && neighbor != sourceNode) {
+                    paintNode(neighbor, NODE_CHECKING_BACKWARD);
+                }
+                if (current != null && neighbor != null) {
+                    paintEdge(current, neighbor, step.getEdge(), EDGE_CHECKING_BACKWARD);
+                }
+                break;
+
+            case UPDATE_DISTANCE_BACKWARD:
+                if (neighbor != null && neighbor != sourceNode) {
+                    paintNode(neighbor, NODE_UPDATED_BACKWARD);
+                }
+                if (current != null && neighbor != null) {
+                    paintEdge(current, neighbor, step.getEdge(), EDGE_UPDATED_BACKWARD);
+                }
+                if (current != null && current != sourceNode && current != targetNode) {
+                    paintNode(current, NODE_VISITED);
+                }
+                break;
+        }
     }
 
     private void showFinalPath(DijkstraAlgorithm.PathResult pathResult) {
-        if (pathResult == null || pathResult.getDistance() == Integer.MAX_VALUE) {
+        if (!paintFinalPath(pathResult)) {
+            endRun();
             resultLabel.setText("No path found.");
-            isRunning = false;
-            runBtn.setDisable(false);
-            pauseBtn.setDisable(true);
             return;
         }
+        paint.flush();
 
-        pathResult.getPath().forEach(n -> {
-            NodeView view = graphRenderer.getNodeView(n);
-            if (view != null) {
-                view.getCircle().setFill(
-                        n == sourceNode ? COLOR_SOURCE :
-                                n == targetNode ? COLOR_TARGET :
-                                        COLOR_PATH
-                );
-            }
-        });
-
-        for (int i = 0; i < pathResult.getPath().size() - 1; i++) {
-            NodeView u = graphRenderer.getNodeView(pathResult.getPath().get(i));
-            NodeView v = graphRenderer.getNodeView(pathResult.getPath().get(i + 1));
-            highlightEdge(u, v, COLOR_EDGE_PATH, 4);
-        }
-
+        List<Node> path = pathResult.getPath();
         StringBuilder sb = new StringBuilder("Path: ");
-        pathResult.getPath().forEach(n -> sb.append(n.getId()).append(" → "));
+        path.forEach(n -> sb.append(n.getId()).append(" → "));
         sb.setLength(sb.length() - 3);
-        resultLabel.setText(sb.append("\nDistance: ").append(pathResult.getDistance()).toString());
+        resultLabel.setText(sb.append("\nDistance: ").append(pathResult.getDistance())
+                .append("\nSettled nodes: ").append(pathResult.getSettledCount())
+                .append("\nCache: ").append(queryCache.getHits()).append(" hits / ")
+                .append(queryCache.getMisses()).append(" misses").toString());
 
-        isRunning = false;
-        runBtn.setDisable(false);
-        pauseBtn.setDisable(true);
+        endRun();
+    }
+
+    private boolean paintFinalPath(DijkstraAlgorithm.PathResult pathResult) {
+        if (pathResult == null || pathResult.getDistance() == Integer.MAX_VALUE) {
+            return false;
+        }
+        List<Node> path = pathResult.getPath();
+        for (Node n : path) {
+            paintNode(n, n == sourceNode ? NODE_SOURCE : n == targetNode ? NODE_TARGET : NODE_PATH);
+        }
+        for (int i = 0; i < path.size() - 1; i++) {
+            paintEdge(path.get(i), path.get(i + 1), null, EDGE_PATH);
+        }
+        return true;
     }
 
     public Scene getScene() {
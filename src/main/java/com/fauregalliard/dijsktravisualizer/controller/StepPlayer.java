@@ -0,0 +1,81 @@
+package com.fauregalliard.dijsktravisualizer.controller;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import javafx.animation.AnimationTimer;
+
+import java.util.function.Consumer;
+
+/**
+ * Plays a {@link StepTimeline} from a single {@link AnimationTimer}. Each frame applies the steps that
+ * are due at the current rate (all remaining ones in turbo mode), but never spends more than a frame
+ * budget doing so; then {@code onFrame} runs once with the last step applied, so the caller can
+ * write its colour changes to the scene in one go.
+ */
+class StepPlayer extends AnimationTimer {
+    // Algo menos de un fotograma a 60 Hz: queda tiempo para el pulso de JavaFX
+    private static final long FRAME_BUDGET_NANOS = 12_000_000L;
+    private static final int CLOCK_CHECK_MASK = 255;
+
+    private final StepTimeline timeline;
+    private final Consumer<StepInfo> onFrame;
+    private final Runnable onFinished;
+
+    private double stepsPerSecond = 2;
+    private boolean turbo;
+    private boolean paused;
+    private long lastFrame;
+    // Pasos pendientes (fracción incluida); arranca en 1 para mostrar el primero enseguida
+    private double due = 1;
+
+    StepPlayer(StepTimeline timeline, Consumer<StepInfo> onFrame, Runnable onFinished) {
+        this.timeline = timeline;
+        this.onFrame = onFrame;
+        this.onFinished = onFinished;
+    }
+
+    void setStepsPerSecond(double stepsPerSecond) {
+        this.stepsPerSecond = Math.max(0, stepsPerSecond);
+    }
+
+    void setTurbo(boolean turbo) {
+        this.turbo = turbo;
+    }
+
+    /** While paused the timer keeps running but applies nothing. */
+    void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    @Override
+    public void handle(long now) {
+        double elapsed = lastFrame == 0 ? 0 : (now - lastFrame) / 1e9;
+        lastFrame = now;
+        if (paused) return;
+
+        long budget;
+        if (turbo) {
+            budget = Long.MAX_VALUE;
+        } else {
+            due += stepsPerSecond * elapsed;
+            budget = (long) due;
+            due -= budget;
+        }
+
+        long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+        StepInfo last = null;
+        long applied = 0;
+        while (applied < budget && timeline.hasNext()) {
+            last = timeline.advance();
+            applied++;
+            // Lo que no cabe en este fotograma se descarta: la velocidad real baja, pero la ventana responde
+            if ((applied & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) break;
+        }
+        if (last != null) {
+            onFrame.accept(last);
+        }
+        if (!timeline.hasNext()) {
+            stop();
+            onFinished.run();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.fauregalliard.dijsktravisualizer.controller;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.StepSource;
+import com.fauregalliard.dijsktravisualizer.model.StepTrace;
+import com.fauregalliard.dijsktravisualizer.view.GraphPaint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Seekable playback position over a step trace. Every {@link #INTERVAL} steps the timeline keeps a
+ * keyframe holding only the colours changed since the previous one, plus a full copy of the
+ * {@link GraphPaint} state every {@code fullEvery} keyframes (spaced out to fit a memory budget).
+ * A seek restores the nearest full copy, applies the keyframes up to the target and replays at most
+ * {@link #INTERVAL} steps, so its cost depends on the graph and not on the length of the search.
+ * Steps pulled from a live source are recorded in chunks, of which only the most recent are kept:
+ * the timeline can go back over that window, not to the very start of a long search.
+ */
+class StepTimeline {
+    private static final int INTERVAL = 64;
+    private static final long FULL_BUDGET_BYTES = 32L << 20;
+    // Potencia de dos y múltiplo de INTERVAL: cada trozo empieza en una copia completa
+    private static final int CHUNK_STEPS = 1 << 20;
+    private static final int KEPT_CHUNKS = 2;
+
+    private final StepSource source;
+    private final boolean live;
+    private final Graph graph;
+    private final GraphPaint paint;
+    private final Consumer<StepInfo> apply;
+
+    // chunks.get(c) guarda los pasos [(firstChunk + c) * chunkSteps, ...)
+    private final List<StepTrace> chunks = new ArrayList<>();
+    private final int chunkSteps;
+    private int firstChunk;
+
+    // changes.get(k - firstKeyframe): cambios del fotograma k - 1 al k (null en el primero)
+    private final List<GraphPaint.Changes> changes = new ArrayList<>();
+    private final TreeMap<Integer, byte[][]> fulls = new TreeMap<>();
+    private final int maxFulls;
+    private final int maxFullEvery;
+    private int fullEvery = 1;
+    private int firstKeyframe;
+    private int position;
+
+    /** {@code apply} paints one step into {@code paint}; {@code paint} must hold the initial state. */
+    StepTimeline(StepSource source, Graph graph, GraphPaint paint, Consumer<StepInfo> apply) {
+        StepTrace recorded = source.getTrace();
+        this.source = source;
+        this.live = recorded == null;
+        this.graph = graph;
+        this.paint = paint;
+        this.apply = apply;
+        chunks.add(live ? StepTrace.of(graph) : recorded);
+        chunkSteps = live ? CHUNK_STEPS : Integer.MAX_VALUE;
+        // Con la traza completa en memoria no se descarta nada: el espaciado puede crecer sin límite
+        maxFullEvery = live ? CHUNK_STEPS / INTERVAL : Integer.MAX_VALUE / 2;
+        long frameBytes = Math.max(1, (long) paint.nodeCount() + paint.edgeCount());
+        maxFulls = (int) Math.max(2, Math.min(Integer.MAX_VALUE, FULL_BUDGET_BYTES / frameBytes));
+        changes.add(null);
+        fulls.put(0, paint.snapshot());
+        paint.discardChanges();
+    }
+
+    int position() { return position; }
+
+    /** First step the timeline can still go back to; above 0 once a live search outgrew the window. */
+    int firstStep() { return firstChunk * chunkSteps; }
+
+    /** Steps known so far; grows while a live source is being played. */
+    int knownSteps() {
+        return firstStep() + (chunks.size() - 1) * chunkSteps + chunks.get(chunks.size() - 1).size();
+    }
+
+    boolean isComplete() { return !live || !source.hasNext(); }
+
+    boolean hasNext() {
+        return position < knownSteps() || (live && source.hasNext());
+    }
+
+    /** Only available once {@link #isComplete()}. */
+    PathResult getFinalResult() {
+        return source.getFinalResult();
+    }
+
+    /** Applies the step at the current position and moves past it. */
+    StepInfo advance() {
+        if (position == knownSteps()) {
+            record(source.next());
+        }
+        StepInfo step = stepAt(position);
+        apply.accept(step);
+        position++;
+        if (position % INTERVAL == 0) {
+            int k = position / INTERVAL;
+            if (k > lastKeyframe()) {
+                addKeyframe(k);
+            } else {
+                paint.discardChanges();
+            }
+        }
+        return step;
+    }
+
+    /**
+     * Moves to {@code target} (clamped to {@link #firstStep()} and the known steps) and returns the
+     * last step applied there, or {@code null} if that step is not recorded. The caller flushes the
+     * paint.
+     */
+    StepInfo seek(int target) {
+        target = Math.max(firstStep(), Math.min(target, knownSteps()));
+        int frame = Math.min(target / INTERVAL, lastKeyframe());
+        int current = position / INTERVAL;
+        Map.Entry<Integer, byte[][]> full = fulls.floorEntry(frame);
+        if (target < position || current < full.getKey()) {
+            paint.restore(full.getValue());
+            applyKeyframes(full.getKey(), frame);
+        } else if (frame > current) {
+            // Hacia delante bastan los cambios: los del fotograma siguiente cubren lo pintado desde el actual
+            applyKeyframes(current, frame);
+        }
+        while (position < target) {
+            advance();
+        }
+        return position == firstStep() ? null : stepAt(position - 1);
+    }
+
+    // Aplica los fotogramas (from, to] y deja la posición en el fotograma to
+    private void applyKeyframes(int from, int to) {
+        for (int k = from + 1; k <= to; k++) {
+            paint.apply(changes.get(k - firstKeyframe));
+        }
+        paint.discardChanges();
+        position = to * INTERVAL;
+    }
+
+    private int lastKeyframe() { return firstKeyframe + changes.size() - 1; }
+
+    private void addKeyframe(int k) {
+        changes.add(paint.takeChanges());
+        if (k % fullEvery != 0) return;
+        fulls.put(k, paint.snapshot());
+        if (fulls.size() > maxFulls && fullEvery < maxFullEvery) {
+            // Espaciado doble: sobreviven las copias en múltiplos del nuevo espaciado
+            fullEvery *= 2;
+            fulls.keySet().removeIf(f -> f % fullEvery != 0);
+        }
+    }
+
+    private StepInfo stepAt(int step) {
+        return chunks.get(step / chunkSteps - firstChunk).get(step % chunkSteps);
+    }
+
+    private void record(StepInfo step) {
+        StepTrace chunk = chunks.get(chunks.size() - 1);
+        if (chunk.size() == chunkSteps) {
+            chunk = StepTrace.of(graph);
+            chunks.add(chunk);
+            if (chunks.size() > KEPT_CHUNKS) dropOldestChunk();
+        }
+        chunk.add(step.getType(),
+                step.getCurrentNode() != null ? graph.indexOf(step.getCurrentNode()) : StepTrace.NONE,
+                step.getNeighborNode() != null ? graph.indexOf(step.getNeighborNode()) : StepTrace.NONE,
+                step.getDistance(),
+                step.getEdge() != null ? graph.indexOf(step.getEdge()) : StepTrace.NONE);
+    }
+
+    // Solo se graba en el extremo, así que la posición nunca está en el trozo descartado
+    private void dropOldestChunk() {
+        chunks.remove(0);
+        firstChunk++;
+        int first = firstStep() / INTERVAL;
+        changes.subList(0, first - firstKeyframe).clear();
+        changes.set(0, null);
+        fulls.headMap(first).clear();
+        firstKeyframe = first;
+    }
+}
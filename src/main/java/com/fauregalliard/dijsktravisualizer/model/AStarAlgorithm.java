@@ -0,0 +1,94 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
+import java.util.Arrays;
+
+/**
+ * Goal-directed Dijkstra: nodes are popped by {@code distance + estimate}. The heuristic must be
+ * consistent ({@code h(u) <= w(u,v) + h(v)}), so every node is still settled at most once and the
+ * answer is exact.
+ */
+public class AStarAlgorithm {
+    private static final int INF = Integer.MAX_VALUE;
+
+    /** Lower bound on the remaining distance from a dense node index to the target. */
+    public interface Heuristic {
+        /** Returns {@link Integer#MAX_VALUE} when the node provably cannot reach the target. */
+        int estimate(int node);
+    }
+
+    public static PathResult search(CompactGraph csr, Node start, Node end, Heuristic heuristic,
+                                    StepTrace steps) {
+        int n = csr.nodeCount();
+        int s = csr.indexOf(start);
+        int t = csr.indexOf(end);
+
+        int[] dist = new int[n];
+        int[] previous = new int[n];
+        int[] estimate = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(previous, -1);
+        Arrays.fill(estimate, -1);
+        if (s < 0 || t < 0) {
+            return DijkstraAlgorithm.buildPath(csr, dist, previous, t, end, 0);
+        }
+
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+
+        // Las claves incluyen la estimación: no son acotadas por maxWeight, así que nada de cubos
+        Frontier frontier = FrontierType.BINARY_HEAP.create(n, csr.maxWeight());
+        dist[s] = 0;
+        estimate[s] = heuristic.estimate(s);
+        if (estimate[s] != INF) {
+            frontier.push(s, estimate[s]);
+        }
+        int settled = 0;
+
+        while (!frontier.isEmpty()) {
+            int u = frontier.pop();
+            visited[u] = true;
+            settled++;
+
+            if (steps != null) {
+                int step = steps.add(StepInfo.StepType.VISIT_NODE, u, StepTrace.NONE, dist[u], StepTrace.NONE);
+                steps.setExtra(step, estimate[u]);
+            }
+            if (u == t) break;
+
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int v = targets[slot];
+                if (visited[v]) continue;
+
+                if (estimate[v] < 0) {
+                    estimate[v] = heuristic.estimate(v);
+                }
+                // v no puede llegar al destino: se poda
+                if (estimate[v] == INF) continue;
+
+                if (steps != null) {
+                    steps.add(StepInfo.StepType.CHECK_NEIGHBOR, u, v, dist[u], csr.edgeId(slot));
+                }
+
+                int newDist = dist[u] + weights[slot];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    previous[v] = u;
+                    frontier.push(v, newDist + estimate[v]);
+
+                    if (steps != null) {
+                        steps.add(StepInfo.StepType.UPDATE_DISTANCE, u, v, newDist, csr.edgeId(slot));
+                    }
+                }
+            }
+        }
+
+        return DijkstraAlgorithm.buildPath(csr, dist, previous, t, end, settled);
+    }
+}
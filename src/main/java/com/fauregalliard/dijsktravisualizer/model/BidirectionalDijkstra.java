@@ -0,0 +1,148 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.AnimatedResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bidirectional Dijkstra: a forward search from the source over the out-edges and a backward
+ * search from the target over the reverse adjacency. The side with the smaller frontier key is
+ * advanced each round, and the search stops once the two frontier minimums add up to at least the
+ * best source-target distance seen so far.
+ */
+public class BidirectionalDijkstra {
+    private static final int INF = Integer.MAX_VALUE;
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end) {
+        return calculateShortestPath(graph, start, end, DijkstraAlgorithm.DEFAULT_FRONTIER);
+    }
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end, FrontierType frontierType) {
+        return search(CompactGraph.of(graph), start, end, frontierType, null);
+    }
+
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end) {
+        return calculateShortestPathAnimated(graph, start, end, null);
+    }
+
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               SearchMonitor monitor) {
+        CompactGraph csr = CompactGraph.of(graph);
+        StepTrace steps = StepTrace.of(csr);
+        steps.setMonitor(monitor);
+        int first = steps.add(StepInfo.StepType.INITIALIZE, csr.indexOf(start), StepTrace.NONE, 0, StepTrace.NONE);
+        steps.setNote(first, "Inicializando: origen " + start.getId() + " y destino " + end.getId() + " con distancia 0");
+
+        PathResult finalResult = search(csr, start, end, DijkstraAlgorithm.DEFAULT_FRONTIER, steps);
+
+        steps.add(StepInfo.StepType.COMPLETE, csr.indexOf(end), StepTrace.NONE,
+                finalResult.getDistance(), StepTrace.NONE);
+        return new AnimatedResult(steps, finalResult);
+    }
+
+    static PathResult search(CompactGraph csr, Node start, Node end, FrontierType frontierType, StepTrace steps) {
+        int n = csr.nodeCount();
+        int s = csr.indexOf(start);
+        int t = csr.indexOf(end);
+        if (s < 0 || t < 0) {
+            List<Node> path = new ArrayList<>();
+            path.add(end);
+            return new PathResult(INF, path, 0);
+        }
+
+        CompactGraph rev = csr.reverse();
+        int[] distF = new int[n];
+        int[] distB = new int[n];
+        int[] prevF = new int[n];
+        int[] nextB = new int[n];
+        boolean[] doneF = new boolean[n];
+        boolean[] doneB = new boolean[n];
+        Arrays.fill(distF, INF);
+        Arrays.fill(distB, INF);
+        Arrays.fill(prevF, -1);
+        Arrays.fill(nextB, -1);
+
+        Frontier forward = frontierType.create(n, csr.maxWeight());
+        Frontier backward = frontierType.create(n, csr.maxWeight());
+        distF[s] = 0;
+        distB[t] = 0;
+        forward.push(s, 0);
+        backward.push(t, 0);
+
+        int best = s == t ? 0 : INF;
+        int meeting = s == t ? s : -1;
+        int settled = 0;
+
+        while (!forward.isEmpty() && !backward.isEmpty()
+                && (long) forward.peekKey() + backward.peekKey() < best) {
+            boolean isForward = forward.peekKey() <= backward.peekKey();
+            CompactGraph side = isForward ? csr : rev;
+            Frontier frontier = isForward ? forward : backward;
+            int[] dist = isForward ? distF : distB;
+            int[] other = isForward ? distB : distF;
+            int[] parent = isForward ? prevF : nextB;
+            boolean[] done = isForward ? doneF : doneB;
+
+            int u = frontier.pop();
+            done[u] = true;
+            settled++;
+
+            if (steps != null) {
+                steps.add(isForward ? StepInfo.StepType.VISIT_NODE : StepInfo.StepType.VISIT_NODE_BACKWARD,
+                        u, StepTrace.NONE, dist[u], StepTrace.NONE);
+            }
+
+            int[] offsets = side.offsets();
+            int[] targets = side.targets();
+            int[] weights = side.weights();
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int v = targets[slot];
+                if (done[v]) continue;
+
+                if (steps != null) {
+                    steps.add(isForward ? StepInfo.StepType.CHECK_NEIGHBOR : StepInfo.StepType.CHECK_NEIGHBOR_BACKWARD,
+                            u, v, dist[u], side.edgeId(slot));
+                }
+
+                int newDist = dist[u] + weights[slot];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    frontier.push(v, newDist);
+
+                    if (steps != null) {
+                        steps.add(isForward ? StepInfo.StepType.UPDATE_DISTANCE : StepInfo.StepType.UPDATE_DISTANCE_BACKWARD,
+                                u, v, newDist, side.edgeId(slot));
+                    }
+                }
+
+                // Los dos frentes se tocan en v: candidato a camino más corto
+                if (other[v] != INF && (long) dist[v] + other[v] < best) {
+                    best = dist[v] + other[v];
+                    meeting = v;
+                }
+            }
+        }
+
+        List<Node> path = new ArrayList<>();
+        if (meeting < 0) {
+            path.add(end);
+            return new PathResult(INF, path, settled);
+        }
+        for (int at = meeting; at >= 0; at = prevF[at]) {
+            path.add(csr.node(at));
+        }
+        Collections.reverse(path);
+        for (int at = nextB[meeting]; at >= 0; at = nextB[at]) {
+            path.add(csr.node(at));
+        }
+        return new PathResult(best, path, settled);
+    }
+}
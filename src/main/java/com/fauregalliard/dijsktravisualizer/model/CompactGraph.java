@@ -0,0 +1,181 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable compressed-sparse-row view of a {@link Graph}.
+ * Nodes are renumbered densely (0..n-1) in the order of {@code graph.nodes};
+ * the out-edges of node {@code u} live in slots {@code offsets[u]..offsets[u+1]-1}
+ * and keep the relative order they have in {@code graph.edges}.
+ */
+public class CompactGraph {
+    private final Node[] nodes;
+    // Se construye en la primera consulta: muchos usos solo trabajan con índices densos
+    private volatile Map<Node, Integer> indexByNode;
+    private final CompactGraph base;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeIds;
+    private final Edge[] sourceEdges;
+    private final int maxWeight;
+    private CompactGraph reverse;
+
+    public CompactGraph(Node[] nodes, int[] offsets, int[] targets, int[] weights,
+                        int[] edgeIds, Edge[] sourceEdges) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.sourceEdges = sourceEdges;
+        this.base = null;
+
+        int max = 0;
+        for (int w : weights) {
+            if (w > max) max = w;
+        }
+        maxWeight = max;
+    }
+
+    private CompactGraph(CompactGraph base, int[] offsets, int[] targets, int[] weights, int[] edgeIds) {
+        this.nodes = base.nodes;
+        this.base = base;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.sourceEdges = base.sourceEdges;
+        this.maxWeight = base.maxWeight;
+    }
+
+    public static CompactGraph of(Graph graph) {
+        List<Node> nodeList = graph.nodes;
+        List<Edge> edgeList = graph.edges;
+        int n = nodeList.size();
+
+        Node[] nodes = nodeList.toArray(new Node[0]);
+        Map<Node, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            index.put(nodes[i], i);
+        }
+
+        // Conteo de grados de salida, luego prefijos (counting sort estable)
+        int[] from = new int[edgeList.size()];
+        int[] to = new int[edgeList.size()];
+        int[] offsets = new int[n + 1];
+        int m = 0;
+        for (int e = 0; e < edgeList.size(); e++) {
+            Integer u = index.get(edgeList.get(e).getFrom());
+            Integer v = index.get(edgeList.get(e).getTo());
+            if (u == null || v == null) {
+                from[e] = -1;
+                continue;
+            }
+            from[e] = u;
+            to[e] = v;
+            offsets[u + 1]++;
+            m++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        int[] edgeIds = new int[m];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int e = 0; e < edgeList.size(); e++) {
+            if (from[e] < 0) continue;
+            int slot = cursor[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = edgeList.get(e).getWeight();
+            edgeIds[slot] = e;
+        }
+
+        return new CompactGraph(nodes, offsets, targets, weights, edgeIds,
+                edgeList.toArray(new Edge[0]));
+    }
+
+    public int nodeCount() { return nodes.length; }
+    public int edgeCount() { return targets.length; }
+    public int maxWeight() { return maxWeight; }
+
+    public int[] offsets() { return offsets; }
+    public int[] targets() { return targets; }
+    public int[] weights() { return weights; }
+
+    public Node node(int index) { return nodes[index]; }
+
+    public int indexOf(Node node) {
+        if (base != null) return base.indexOf(node);
+        Integer index = index().get(node);
+        return index == null ? -1 : index;
+    }
+
+    private Map<Node, Integer> index() {
+        Map<Node, Integer> map = indexByNode;
+        if (map == null) {
+            synchronized (this) {
+                map = indexByNode;
+                if (map == null) {
+                    map = new HashMap<>(nodes.length * 2);
+                    for (int i = 0; i < nodes.length; i++) {
+                        map.put(nodes[i], i);
+                    }
+                    indexByNode = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /** Model edge stored at a CSR slot, or {@code null} if this view was not built from a {@link Graph}. */
+    public Edge edge(int slot) {
+        return sourceEdges == null ? null : sourceEdges[edgeIds[slot]];
+    }
+
+    public int edgeId(int slot) { return edgeIds[slot]; }
+
+    /** Model edge with the given edge id (its position in {@code graph.edges}), or {@code null}. */
+    public Edge edgeById(int edgeId) {
+        return sourceEdges == null || edgeId < 0 ? null : sourceEdges[edgeId];
+    }
+
+    /**
+     * Transposed view: the out-edges of {@code v} are the in-edges of {@code v} here, with the same
+     * dense indexes and edge ids, so {@link #edge(int)} still resolves the original model edge.
+     */
+    public synchronized CompactGraph reverse() {
+        if (reverse == null) {
+            int n = nodes.length;
+            int m = targets.length;
+            int[] revOffsets = new int[n + 1];
+            for (int slot = 0; slot < m; slot++) {
+                revOffsets[targets[slot] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                revOffsets[i + 1] += revOffsets[i];
+            }
+            int[] revTargets = new int[m];
+            int[] revWeights = new int[m];
+            int[] revEdgeIds = new int[m];
+            int[] cursor = new int[n];
+            System.arraycopy(revOffsets, 0, cursor, 0, n);
+            for (int u = 0; u < n; u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int r = cursor[targets[slot]]++;
+                    revTargets[r] = u;
+                    revWeights[r] = weights[slot];
+                    revEdgeIds[r] = edgeIds[slot];
+                }
+            }
+            reverse = new CompactGraph(this, revOffsets, revTargets, revWeights, revEdgeIds);
+            reverse.reverse = this;
+        }
+        return reverse;
+    }
+}
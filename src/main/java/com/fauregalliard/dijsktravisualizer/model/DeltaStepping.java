@@ -0,0 +1,253 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping (Meyer &amp; Sanders). Tentative distances
+ * are grouped into buckets of width {@code delta}. The nodes of the current bucket relax their light
+ * edges ({@code w <= delta}) in parallel until the bucket stops changing, then relax their heavy
+ * edges once. Distance and parent share one {@code long} per node and are updated with CAS, so
+ * concurrent relaxations never leave a parent that disagrees with its distance.
+ */
+public class DeltaStepping {
+    private static final int INF = Integer.MAX_VALUE;
+    private static final long UNREACHED = pack(INF, -1);
+    // Por debajo de este tamaño el reparto entre hilos cuesta más que la relajación
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int CHUNK = 256;
+
+    private final CompactGraph csr;
+    private final int delta;
+    private final ForkJoinPool pool;
+
+    // Aristas reordenadas por nodo: ligeras en [offsets[u], lightEnd[u]), pesadas hasta offsets[u+1]
+    private final int[] offsets;
+    private final int[] lightEnd;
+    private final int[] targets;
+    private final int[] weights;
+
+    public DeltaStepping(CompactGraph csr, int delta, ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + delta);
+        }
+        this.csr = csr;
+        this.delta = delta;
+        this.pool = pool;
+
+        int n = csr.nodeCount();
+        offsets = csr.offsets();
+        lightEnd = new int[n];
+        targets = new int[csr.edgeCount()];
+        weights = new int[csr.edgeCount()];
+        int[] srcTargets = csr.targets();
+        int[] srcWeights = csr.weights();
+        for (int u = 0; u < n; u++) {
+            int light = offsets[u];
+            int heavy = offsets[u + 1] - 1;
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int at = srcWeights[slot] <= delta ? light++ : heavy--;
+                targets[at] = srcTargets[slot];
+                weights[at] = srcWeights[slot];
+            }
+            lightEnd[u] = light;
+        }
+    }
+
+    /** Weight range divided by the average out-degree, the usual choice for random graphs. */
+    public static int defaultDelta(CompactGraph csr) {
+        double averageDegree = Math.max(1.0, (double) csr.edgeCount() / Math.max(1, csr.nodeCount()));
+        return Math.max(1, (int) Math.round(csr.maxWeight() / averageDegree));
+    }
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end) {
+        CompactGraph csr = CompactGraph.of(graph);
+        return new DeltaStepping(csr, defaultDelta(csr), ForkJoinPool.commonPool()).calculateShortestPath(start, end);
+    }
+
+    public int getDelta() { return delta; }
+
+    public PathResult calculateShortestPath(Node start, Node end) {
+        int n = csr.nodeCount();
+        int[] dist = new int[n];
+        int[] parent = new int[n];
+        int s = csr.indexOf(start);
+        int settled = 0;
+        if (s >= 0) {
+            settled = run(s, dist, parent);
+        } else {
+            Arrays.fill(dist, INF);
+            Arrays.fill(parent, -1);
+        }
+        return DijkstraAlgorithm.buildPath(csr, dist, parent, csr.indexOf(end), end, settled);
+    }
+
+    /** Fills {@code dist}/{@code parent} for every node and returns how many nodes are reachable. */
+    public int run(int source, int[] dist, int[] parent) {
+        int n = csr.nodeCount();
+        AtomicLongArray state = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            state.set(v, UNREACHED);
+        }
+        state.set(source, pack(0, -1));
+
+        // Cubos circulares: una relajación nunca salta más de maxWeight/delta + 1 cubos hacia delante
+        int bucketCount = csr.maxWeight() / delta + 2;
+        IntList[] buckets = new IntList[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            buckets[b] = new IntList();
+        }
+        buckets[0].add(source);
+
+        int[] mark = new int[n];
+        int epoch = 0;
+        IntList settledInBucket = new IntList();
+        int current = 0;
+        int empty = 0;
+
+        while (empty < bucketCount) {
+            IntList bucket = buckets[current % bucketCount];
+            if (bucket.size == 0) {
+                current++;
+                empty++;
+                continue;
+            }
+            empty = 0;
+            settledInBucket.clear();
+
+            // Fase ligera: se repite mientras haya nodos que caen de nuevo en este cubo
+            while (bucket.size > 0) {
+                epoch++;
+                IntList frontier = new IntList();
+                for (int i = 0; i < bucket.size; i++) {
+                    int v = bucket.data[i];
+                    // Se descartan entradas obsoletas (el nodo bajó a otro cubo) y duplicadas
+                    if (dist(state.get(v)) / delta == current && mark[v] != epoch) {
+                        mark[v] = epoch;
+                        frontier.add(v);
+                    }
+                }
+                bucket.clear();
+                settledInBucket.addAll(frontier);
+                enqueue(relaxAll(frontier, state, true), state, buckets);
+            }
+
+            // Fase pesada: una sola vez por nodo del cubo
+            epoch++;
+            IntList unique = new IntList();
+            for (int i = 0; i < settledInBucket.size; i++) {
+                int v = settledInBucket.data[i];
+                if (mark[v] != epoch) {
+                    mark[v] = epoch;
+                    unique.add(v);
+                }
+            }
+            enqueue(relaxAll(unique, state, false), state, buckets);
+            current++;
+        }
+
+        int reachable = 0;
+        for (int v = 0; v < n; v++) {
+            long value = state.get(v);
+            dist[v] = dist(value);
+            parent[v] = (int) value;
+            if (dist[v] != INF) reachable++;
+        }
+        return reachable;
+    }
+
+    private void enqueue(IntList improved, AtomicLongArray state, IntList[] buckets) {
+        for (int i = 0; i < improved.size; i++) {
+            int v = improved.data[i];
+            buckets[(dist(state.get(v)) / delta) % buckets.length].add(v);
+        }
+    }
+
+    private IntList relaxAll(IntList frontier, AtomicLongArray state, boolean light) {
+        if (frontier.size < PARALLEL_THRESHOLD) {
+            IntList improved = new IntList();
+            for (int i = 0; i < frontier.size; i++) {
+                relaxNode(frontier.data[i], state, light, improved);
+            }
+            return improved;
+        }
+
+        int chunks = (frontier.size + CHUNK - 1) / CHUNK;
+        IntList[] partial = new IntList[chunks];
+        try {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                IntList local = new IntList();
+                int end = Math.min(frontier.size, (c + 1) * CHUNK);
+                for (int i = c * CHUNK; i < end; i++) {
+                    relaxNode(frontier.data[i], state, light, local);
+                }
+                partial[c] = local;
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Delta-stepping interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Delta-stepping failed", e.getCause());
+        }
+
+        IntList improved = new IntList();
+        for (IntList local : partial) {
+            improved.addAll(local);
+        }
+        return improved;
+    }
+
+    private void relaxNode(int u, AtomicLongArray state, boolean light, IntList improved) {
+        int du = dist(state.get(u));
+        int from = light ? offsets[u] : lightEnd[u];
+        int to = light ? lightEnd[u] : offsets[u + 1];
+        for (int slot = from; slot < to; slot++) {
+            int v = targets[slot];
+            int candidate = du + weights[slot];
+            long desired = pack(candidate, u);
+            while (true) {
+                long cur = state.get(v);
+                if (candidate >= dist(cur)) break;
+                if (state.compareAndSet(v, cur, desired)) {
+                    improved.add(v);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static long pack(int dist, int parent) {
+        return ((long) dist << 32) | (parent & 0xffffffffL);
+    }
+
+    private static int dist(long value) {
+        return (int) (value >>> 32);
+    }
+
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > data.length) data = Arrays.copyOf(data, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
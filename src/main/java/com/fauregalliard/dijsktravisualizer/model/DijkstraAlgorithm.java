@@ -1,12 +1,17 @@
 package com.fauregalliard.dijsktravisualizer.model;
 
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
 import java.util.*;
 
 public class DijkstraAlgorithm {
 
     public static class StepInfo {
         public enum StepType {
-            INITIALIZE, VISIT_NODE, CHECK_NEIGHBOR, UPDATE_DISTANCE, COMPLETE
+            INITIALIZE, VISIT_NODE, CHECK_NEIGHBOR, UPDATE_DISTANCE, COMPLETE,
+            // Frente inverso de la búsqueda bidireccional (crece desde el destino)
+            VISIT_NODE_BACKWARD, CHECK_NEIGHBOR_BACKWARD, UPDATE_DISTANCE_BACKWARD
         }
 
         private final StepType type;
@@ -14,7 +19,10 @@ public class DijkstraAlgorithm {
         private final Node neighborNode;
         private final int distance;
         private final Edge edge;
-        private final String description;
+        private String description;
+        // Paso de una traza: la descripción se formatea al pedirla
+        private final StepTrace trace;
+        private final int index;
 
         public StepInfo(StepType type, Node currentNode, Node neighborNode,
                         int distance, Edge edge, String description) {
@@ -24,6 +32,23 @@ public class DijkstraAlgorithm {
             this.distance = distance;
             this.edge = edge;
             this.description = description;
+            this.trace = null;
+            this.index = -1;
+        }
+
+        /** Step whose description is formatted from its fields when first asked for. */
+        public StepInfo(StepType type, Node currentNode, Node neighborNode, int distance, Edge edge) {
+            this(type, currentNode, neighborNode, distance, edge, null);
+        }
+
+        StepInfo(StepTrace trace, int index) {
+            this.type = trace.type(index);
+            this.currentNode = trace.currentNode(index);
+            this.neighborNode = trace.neighborNode(index);
+            this.distance = trace.distance(index);
+            this.edge = trace.edge(index);
+            this.trace = trace;
+            this.index = index;
         }
 
         public StepType getType() { return type; }
@@ -31,160 +56,198 @@ public class DijkstraAlgorithm {
         public Node getNeighborNode() { return neighborNode; }
         public int getDistance() { return distance; }
         public Edge getEdge() { return edge; }
-        public String getDescription() { return description; }
+
+        public String getDescription() {
+            if (description == null) {
+                description = trace != null ? trace.description(index)
+                        : StepTrace.describe(type, currentNode, neighborNode, distance, StepTrace.NONE);
+            }
+            return description;
+        }
     }
 
     public static class AnimatedResult {
-        private final List<StepInfo> steps;
+        private final StepTrace trace;
         private final PathResult finalResult;
 
-        public AnimatedResult(List<StepInfo> steps, PathResult finalResult) {
-            this.steps = steps;
+        public AnimatedResult(StepTrace trace, PathResult finalResult) {
+            this.trace = trace;
             this.finalResult = finalResult;
         }
 
-        public List<StepInfo> getSteps() { return steps; }
+        public StepTrace getTrace() { return trace; }
+
+        /** Replays the recorded trace from the first step. */
+        public StepSource source() {
+            return new StepSource() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < trace.size();
+                }
+
+                @Override
+                public StepInfo next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return trace.get(next++);
+                }
+
+                @Override
+                public PathResult getFinalResult() {
+                    return finalResult;
+                }
+
+                @Override
+                public StepTrace getTrace() {
+                    return trace;
+                }
+            };
+        }
+        /** List view over the trace; steps are materialised on access. */
+        public List<StepInfo> getSteps() { return trace.asList(); }
         public PathResult getFinalResult() { return finalResult; }
     }
 
+    public static final FrontierType DEFAULT_FRONTIER = FrontierType.AUTO;
+
     public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end) {
-        final int INF = Integer.MAX_VALUE;
-        List<Node> nodes = graph.nodes;
-        List<StepInfo> steps = new ArrayList<>();
-
-        Map<Node, Integer> dist = new HashMap<>();
-        Map<Node, Boolean> visited = new HashMap<>();
-        Map<Node, Node> previous = new HashMap<>();
-
-        // Inicialización
-        for (Node node : nodes) {
-            dist.put(node, INF);
-            visited.put(node, false);
-            previous.put(node, null);
-        }
-        dist.put(start, 0);
-
-        steps.add(new StepInfo(
-                StepInfo.StepType.INITIALIZE,
-                start, null, 0, null,
-                "Inicializando: Nodo origen con distancia 0"
-        ));
-
-        // Algoritmo principal
-        for (int i = 0; i < nodes.size(); i++) {
-            Node u = getMinDistanceNode(dist, visited);
-            if (u == null) break;
-
-            visited.put(u, true);
-            steps.add(new StepInfo(
-                    StepInfo.StepType.VISIT_NODE,
-                    u, null, dist.get(u), null,
-                    "Visitando nodo " + u.getId() + " (distancia: " + dist.get(u) + ")"
-            ));
-
-            // Explorar vecinos
-            for (Edge edge : graph.edges) {
-                if (edge.getFrom().equals(u) && !visited.get(edge.getTo())) {
-                    Node v = edge.getTo();
-
-                    steps.add(new StepInfo(
-                            StepInfo.StepType.CHECK_NEIGHBOR,
-                            u, v, dist.get(u), edge,
-                            "Evaluando vecino " + v.getId() + " desde " + u.getId()
-                    ));
-
-                    int newDist = dist.get(u) + edge.getWeight();
-                    if (newDist < dist.get(v)) {
-                        dist.put(v, newDist);
-                        previous.put(v, u);
-
-                        steps.add(new StepInfo(
-                                StepInfo.StepType.UPDATE_DISTANCE,
-                                u, v, newDist, edge,
-                                "Actualizando distancia de " + v.getId() + " a " + newDist
-                        ));
-                    }
-                }
-            }
-        }
+        return calculateShortestPathAnimated(graph, start, end, DEFAULT_FRONTIER);
+    }
 
-        // Construir el camino final
-        List<Node> path = new ArrayList<>();
-        for (Node at = end; at != null; at = previous.get(at)) {
-            path.add(at);
-        }
-        Collections.reverse(path);
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               FrontierType frontierType) {
+        return calculateShortestPathAnimated(graph, start, end, frontierType, true);
+    }
+
+    /**
+     * With {@code stopAtTarget} the search (and the recorded trace) ends as soon as {@code end} is
+     * settled; otherwise every reachable node is settled, as a full single-source run would.
+     */
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               FrontierType frontierType, boolean stopAtTarget) {
+        return calculateShortestPathAnimated(graph, start, end, frontierType, stopAtTarget, null);
+    }
 
-        PathResult finalResult = new PathResult(dist.get(end), path);
+    /** As above; {@code monitor} (may be {@code null}) sees every recorded step and can cancel the search. */
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               FrontierType frontierType, boolean stopAtTarget,
+                                                               SearchMonitor monitor) {
+        CompactGraph csr = CompactGraph.of(graph);
+        StepTrace steps = StepTrace.of(csr);
+        steps.setMonitor(monitor);
+        steps.add(StepInfo.StepType.INITIALIZE, csr.indexOf(start), StepTrace.NONE, 0, StepTrace.NONE);
 
-        steps.add(new StepInfo(
-                StepInfo.StepType.COMPLETE,
-                end, null, dist.get(end), null,
-                "Algoritmo completado. Distancia final: " + dist.get(end)
-        ));
+        PathResult finalResult = search(csr, start, end, frontierType, stopAtTarget, steps);
 
+        steps.add(StepInfo.StepType.COMPLETE, csr.indexOf(end), StepTrace.NONE,
+                finalResult.getDistance(), StepTrace.NONE);
         return new AnimatedResult(steps, finalResult);
     }
 
     public static PathResult calculateShortestPath(Graph graph, Node start, Node end) {
+        return calculateShortestPath(graph, start, end, DEFAULT_FRONTIER);
+    }
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end, FrontierType frontierType) {
+        return calculateShortestPath(graph, start, end, frontierType, true);
+    }
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end,
+                                                   FrontierType frontierType, boolean stopAtTarget) {
+        return search(CompactGraph.of(graph), start, end, frontierType, stopAtTarget, null);
+    }
+
+    // Núcleo sobre la vista CSR; si steps != null se registra la traza para la animación
+    private static PathResult search(CompactGraph csr, Node start, Node end,
+                                     FrontierType frontierType, boolean stopAtTarget,
+                                     StepTrace steps) {
         final int INF = Integer.MAX_VALUE;
-        List<Node> nodes = graph.nodes;
-
-        Map<Node, Integer> dist = new HashMap<>();
-        Map<Node, Boolean> visited = new HashMap<>();
-        Map<Node, Node> previous = new HashMap<>();
-
-        for (Node node : nodes) {
-            dist.put(node, INF);
-            visited.put(node, false);
-            previous.put(node, null);
-        }
-        dist.put(start, 0);
-
-        for (int i = 0; i < nodes.size(); i++) {
-            Node u = getMinDistanceNode(dist, visited);
-            if (u == null) break;
-            visited.put(u, true);
-
-            for (Edge edge : graph.edges) {
-                if (edge.getFrom().equals(u) && !visited.get(edge.getTo())) {
-                    int newDist = dist.get(u) + edge.getWeight();
-                    if (newDist < dist.get(edge.getTo())) {
-                        dist.put(edge.getTo(), newDist);
-                        previous.put(edge.getTo(), u);
+        int n = csr.nodeCount();
+        int s = csr.indexOf(start);
+        int t = csr.indexOf(end);
+
+        int[] dist = new int[n];
+        int[] previous = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(previous, -1);
+        if (s < 0) {
+            return buildPath(csr, dist, previous, t, end, 0);
+        }
+        dist[s] = 0;
+
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+
+        Frontier frontier = frontierType.create(n, csr.maxWeight());
+        frontier.push(s, 0);
+        int settled = 0;
+
+        while (!frontier.isEmpty()) {
+            int u = frontier.pop();
+            visited[u] = true;
+            settled++;
+
+            if (steps != null) {
+                steps.add(StepInfo.StepType.VISIT_NODE, u, StepTrace.NONE, dist[u], StepTrace.NONE);
+            }
+
+            // El destino ya tiene su distancia definitiva
+            if (stopAtTarget && u == t) break;
+
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int v = targets[slot];
+                if (visited[v]) continue;
+
+                if (steps != null) {
+                    steps.add(StepInfo.StepType.CHECK_NEIGHBOR, u, v, dist[u], csr.edgeId(slot));
+                }
+
+                int newDist = dist[u] + weights[slot];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    previous[v] = u;
+                    frontier.push(v, newDist);
+
+                    if (steps != null) {
+                        steps.add(StepInfo.StepType.UPDATE_DISTANCE, u, v, newDist, csr.edgeId(slot));
                     }
                 }
             }
         }
 
-        List<Node> path = new ArrayList<>();
-        for (Node at = end; at != null; at = previous.get(at)) {
-            path.add(at);
-        }
-        Collections.reverse(path);
-
-        return new PathResult(dist.get(end), path);
+        return buildPath(csr, dist, previous, t, end, settled);
     }
 
-    private static Node getMinDistanceNode(Map<Node, Integer> dist, Map<Node, Boolean> visited) {
-        Node minNode = null;
-        int minDist = Integer.MAX_VALUE;
-        for (Map.Entry<Node, Integer> entry : dist.entrySet()) {
-            if (!visited.get(entry.getKey()) && entry.getValue() <= minDist) {
-                minDist = entry.getValue();
-                minNode = entry.getKey();
-            }
+    // Construir el camino final siguiendo los predecesores desde el destino
+    static PathResult buildPath(CompactGraph csr, int[] dist, int[] previous, int t, Node end, int settled) {
+        List<Node> path = new ArrayList<>();
+        if (t < 0) {
+            path.add(end);
+            return new PathResult(Integer.MAX_VALUE, path, settled);
+        }
+        for (int at = t; at >= 0; at = previous[at]) {
+            path.add(csr.node(at));
         }
-        return minNode;
+        Collections.reverse(path);
+        return new PathResult(dist[t], path, settled);
     }
 
     public static class PathResult {
         private final int distance;
         private final List<Node> path;
+        private final int settledCount;
 
         public PathResult(int distance, List<Node> path) {
+            this(distance, path, 0);
+        }
+
+        public PathResult(int distance, List<Node> path, int settledCount) {
             this.distance = distance;
             this.path = path;
+            this.settledCount = settledCount;
         }
 
         public int getDistance() {
@@ -194,5 +257,10 @@ public class DijkstraAlgorithm {
         public List<Node> getPath() {
             return path;
         }
+
+        /** Number of nodes the search settled before answering (0 when unknown). */
+        public int getSettledCount() {
+            return settledCount;
+        }
     }
 }
\ No newline at end of file
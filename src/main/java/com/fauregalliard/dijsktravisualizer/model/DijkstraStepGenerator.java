@@ -0,0 +1,143 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo.StepType;
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Dijkstra run as a resumable state machine: each {@link #next()} advances the search just far
+ * enough to produce one step, so the first step is available immediately and nothing is recorded.
+ * The steps are the same, in the same order, as those of
+ * {@link DijkstraAlgorithm#calculateShortestPathAnimated(Graph, Node, Node, FrontierType, boolean)}.
+ */
+public class DijkstraStepGenerator implements StepSource {
+    private static final int INF = Integer.MAX_VALUE;
+
+    // Punto en el que se reanuda la búsqueda en la siguiente llamada
+    private enum Phase { START, POP, SCAN, RELAX, COMPLETE, DONE }
+
+    private final CompactGraph csr;
+    private final Node start;
+    private final Node end;
+    private final int t;
+    private final boolean stopAtTarget;
+
+    private final int[] dist;
+    private final int[] previous;
+    private final boolean[] visited;
+    private final Frontier frontier;
+    private int settled;
+
+    private Phase phase = Phase.START;
+    private int u = -1;
+    private int slot;
+    private PathResult finalResult;
+
+    public DijkstraStepGenerator(CompactGraph csr, Node start, Node end,
+                                 FrontierType frontierType, boolean stopAtTarget) {
+        this.csr = csr;
+        this.start = start;
+        this.end = end;
+        this.t = csr.indexOf(end);
+        this.stopAtTarget = stopAtTarget;
+
+        int n = csr.nodeCount();
+        dist = new int[n];
+        previous = new int[n];
+        visited = new boolean[n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(previous, -1);
+        frontier = frontierType.create(n, csr.maxWeight());
+        int s = csr.indexOf(start);
+        if (s >= 0) {
+            dist[s] = 0;
+            frontier.push(s, 0);
+        }
+    }
+
+    public DijkstraStepGenerator(Graph graph, Node start, Node end) {
+        this(CompactGraph.of(graph), start, end, DijkstraAlgorithm.DEFAULT_FRONTIER, true);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return phase != Phase.DONE;
+    }
+
+    @Override
+    public StepInfo next() {
+        while (true) {
+            switch (phase) {
+                case START:
+                    phase = Phase.POP;
+                    return step(StepType.INITIALIZE, start, null, 0, null);
+
+                case POP:
+                    if (frontier.isEmpty()) {
+                        phase = Phase.COMPLETE;
+                        break;
+                    }
+                    u = frontier.pop();
+                    visited[u] = true;
+                    settled++;
+                    slot = csr.offsets()[u];
+                    // El destino ya tiene su distancia definitiva
+                    phase = stopAtTarget && u == t ? Phase.COMPLETE : Phase.SCAN;
+                    return step(StepType.VISIT_NODE, csr.node(u), null, dist[u], null);
+
+                case SCAN:
+                    if (slot == csr.offsets()[u + 1]) {
+                        phase = Phase.POP;
+                        break;
+                    }
+                    int v = csr.targets()[slot];
+                    if (visited[v]) {
+                        slot++;
+                        break;
+                    }
+                    phase = Phase.RELAX;
+                    return step(StepType.CHECK_NEIGHBOR, csr.node(u), csr.node(v), dist[u], csr.edge(slot));
+
+                case RELAX:
+                    int w = csr.targets()[slot];
+                    int newDist = dist[u] + csr.weights()[slot];
+                    int at = slot++;
+                    phase = Phase.SCAN;
+                    if (newDist < dist[w]) {
+                        dist[w] = newDist;
+                        previous[w] = u;
+                        frontier.push(w, newDist);
+                        return step(StepType.UPDATE_DISTANCE, csr.node(u), csr.node(w), newDist, csr.edge(at));
+                    }
+                    break;
+
+                case COMPLETE:
+                    finalResult = DijkstraAlgorithm.buildPath(csr, dist, previous, t, end, settled);
+                    phase = Phase.DONE;
+                    return step(StepType.COMPLETE, end, null, finalResult.getDistance(), null);
+
+                case DONE:
+                default:
+                    throw new NoSuchElementException();
+            }
+        }
+    }
+
+    @Override
+    public PathResult getFinalResult() {
+        if (finalResult == null) {
+            throw new IllegalStateException("Search has not finished yet");
+        }
+        return finalResult;
+    }
+
+    // La descripción se formatea solo si el paso llega a mostrarse
+    private static StepInfo step(StepType type, Node current, Node neighbor, int distance, Edge edge) {
+        return new StepInfo(type, current, neighbor, distance, edge);
+    }
+}
@@ -0,0 +1,259 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest distances (and optionally predecessors) as a row-major V x V matrix.
+ * One single-source search per row runs on a {@link ForkJoinPool}; rows are independent, so the
+ * work scales with the number of cores. Small matrices live in a flat {@code int[]}; matrices
+ * that would not fit comfortably on the heap are written to a memory-mapped file instead.
+ */
+public class DistanceMatrix {
+    public static final int INF = Integer.MAX_VALUE;
+
+    public interface ProgressListener {
+        /** Called from worker threads; {@code completed} grows monotonically up to {@code total}. */
+        void onProgress(int completed, int total);
+    }
+
+    private final CompactGraph csr;
+    private final IntStore distances;
+    private final IntStore predecessors;
+
+    private DistanceMatrix(CompactGraph csr, IntStore distances, IntStore predecessors) {
+        this.csr = csr;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    public static DistanceMatrix compute(Graph graph, boolean withPredecessors, ProgressListener listener) {
+        return compute(CompactGraph.of(graph), withPredecessors, null, ForkJoinPool.commonPool(), listener);
+    }
+
+    /**
+     * @param spillFile file used for the memory-mapped storage when the matrix is too large for the heap;
+     *                  {@code null} creates a temporary file when needed
+     */
+    public static DistanceMatrix compute(CompactGraph csr, boolean withPredecessors, Path spillFile,
+                                         ForkJoinPool pool, ProgressListener listener) {
+        int n = csr.nodeCount();
+        long cells = (long) n * n;
+        long bytes = cells * Integer.BYTES * (withPredecessors ? 2 : 1);
+        boolean mapped = cells > Integer.MAX_VALUE - 8 || bytes > Runtime.getRuntime().maxMemory() / 4;
+
+        IntStore distances;
+        IntStore predecessors = null;
+        if (mapped) {
+            Path file = spillFile;
+            try {
+                if (file == null) {
+                    file = Files.createTempFile("distance-matrix", ".bin");
+                    file.toFile().deleteOnExit();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            distances = new MappedStore(file, n, 0);
+            if (withPredecessors) predecessors = new MappedStore(file, n, cells * Integer.BYTES);
+        } else {
+            distances = new HeapStore(n);
+            if (withPredecessors) predecessors = new HeapStore(n);
+        }
+
+        IntStore dist = distances;
+        IntStore pred = predecessors;
+        AtomicInteger completed = new AtomicInteger();
+        int step = Math.max(1, n / 100);
+        ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(() -> new Workspace(csr));
+
+        // Un stream paralelo lanzado desde una tarea del pool se ejecuta en ese mismo pool
+        try {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(source -> {
+                Workspace ws = workspace.get();
+                ws.run(source);
+                dist.putRow(source, ws.dist);
+                if (pred != null) pred.putRow(source, ws.parent);
+
+                int done = completed.incrementAndGet();
+                if (listener != null && (done % step == 0 || done == n)) {
+                    listener.onProgress(done, n);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Distance matrix computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Distance matrix computation failed", e.getCause());
+        }
+
+        return new DistanceMatrix(csr, distances, predecessors);
+    }
+
+    public int size() { return csr.nodeCount(); }
+
+    public boolean hasPredecessors() { return predecessors != null; }
+
+    public int distance(int from, int to) {
+        return distances.get((long) from * csr.nodeCount() + to);
+    }
+
+    public int distance(Node from, Node to) {
+        return distance(index(from), index(to));
+    }
+
+    public int predecessor(int from, int to) {
+        if (predecessors == null) {
+            throw new IllegalStateException("Matrix was computed without predecessors");
+        }
+        return predecessors.get((long) from * csr.nodeCount() + to);
+    }
+
+    public PathResult path(Node from, Node to) {
+        int s = index(from);
+        int t = index(to);
+        List<Node> path = new ArrayList<>();
+        int d = distance(s, t);
+        if (d == INF) {
+            path.add(to);
+            return new PathResult(INF, path);
+        }
+        for (int at = t; at >= 0; at = predecessor(s, at)) {
+            path.add(csr.node(at));
+        }
+        Collections.reverse(path);
+        return new PathResult(d, path);
+    }
+
+    // Un nodo ajeno leería la fila de otro: se rechaza
+    private int index(Node node) {
+        int i = csr.indexOf(node);
+        if (i < 0) {
+            throw new IllegalArgumentException("Node is not part of this matrix; rebuild it after adding nodes");
+        }
+        return i;
+    }
+
+    private static final class Workspace {
+        final CompactGraph csr;
+        final int[] dist;
+        final int[] parent;
+        final boolean[] done;
+        final Frontier frontier;
+
+        Workspace(CompactGraph csr) {
+            int n = csr.nodeCount();
+            this.csr = csr;
+            dist = new int[n];
+            parent = new int[n];
+            done = new boolean[n];
+            frontier = DijkstraAlgorithm.DEFAULT_FRONTIER.create(n, csr.maxWeight());
+        }
+
+        void run(int source) {
+            Arrays.fill(dist, INF);
+            Arrays.fill(parent, -1);
+            Arrays.fill(done, false);
+            frontier.clear();
+
+            int[] offsets = csr.offsets();
+            int[] targets = csr.targets();
+            int[] weights = csr.weights();
+            dist[source] = 0;
+            frontier.push(source, 0);
+            while (!frontier.isEmpty()) {
+                int u = frontier.pop();
+                done[u] = true;
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int v = targets[slot];
+                    if (done[v]) continue;
+                    int d = dist[u] + weights[slot];
+                    if (d < dist[v]) {
+                        dist[v] = d;
+                        parent[v] = u;
+                        frontier.push(v, d);
+                    }
+                }
+            }
+        }
+    }
+
+    private interface IntStore {
+        int get(long index);
+        void putRow(int row, int[] values);
+    }
+
+    private static final class HeapStore implements IntStore {
+        private final int[] data;
+        private final int n;
+
+        HeapStore(int n) {
+            this.n = n;
+            data = new int[n * n];
+        }
+
+        @Override
+        public int get(long index) { return data[(int) index]; }
+
+        @Override
+        public void putRow(int row, int[] values) {
+            System.arraycopy(values, 0, data, row * n, n);
+        }
+    }
+
+    // Un mapeo no puede superar 2 GB: se trocea por bloques de filas completas
+    private static final class MappedStore implements IntStore {
+        private final int n;
+        private final int rowsPerChunk;
+        private final IntBuffer[] chunks;
+
+        MappedStore(Path file, int n, long baseOffset) {
+            this.n = n;
+            rowsPerChunk = Math.max(1, (Integer.MAX_VALUE / Integer.BYTES) / Math.max(1, n));
+            int chunkCount = (n + rowsPerChunk - 1) / rowsPerChunk;
+            chunks = new IntBuffer[chunkCount];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int c = 0; c < chunkCount; c++) {
+                    int rows = Math.min(rowsPerChunk, n - c * rowsPerChunk);
+                    long offset = baseOffset + (long) c * rowsPerChunk * n * Integer.BYTES;
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) rows * n * Integer.BYTES)
+                            .order(ByteOrder.nativeOrder())
+                            .asIntBuffer();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int get(long index) {
+            int row = (int) (index / n);
+            int col = (int) (index % n);
+            return chunks[row / rowsPerChunk].get((row % rowsPerChunk) * n + col);
+        }
+
+        @Override
+        public void putRow(int row, int[] values) {
+            chunks[row / rowsPerChunk].duplicate().put((row % rowsPerChunk) * n, values);
+        }
+    }
+}
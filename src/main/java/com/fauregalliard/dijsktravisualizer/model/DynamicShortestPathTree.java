@@ -0,0 +1,300 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.frontier.IndexedBinaryHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortest-path tree from one source that is repaired in place when the graph changes, in the
+ * spirit of Ramalingam–Reps. An inserted edge or a lighter weight only propagates the distances it
+ * improves; a heavier tree edge invalidates the subtree below it, which is re-seeded from its
+ * unaffected in-neighbours and settled again. Work is proportional to the nodes whose distance
+ * actually changes (and their edges), not to the size of the graph.
+ */
+public class DynamicShortestPathTree {
+    public static final int INF = Integer.MAX_VALUE;
+    private static final long STALE = -1;
+
+    private final Graph graph;
+    private final Node source;
+
+    private final Map<Node, Integer> indexByNode = new HashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<List<Edge>> out = new ArrayList<>();
+    private final List<List<Edge>> in = new ArrayList<>();
+    private int[] dist = new int[0];
+    private Edge[] parentEdge = new Edge[0];
+    private int[] mark = new int[0];
+    private int epoch;
+    private int[] seen = new int[0];
+    private int seenEpoch;
+    private IndexedBinaryHeap heap = new IndexedBinaryHeap(0);
+
+    // Versión del grafo que refleja el árbol; sync() repasa el registro de cambios desde ella
+    private long syncedVersion;
+    // Solo durante una actualización; se comprueba en cada nodo asentado
+    private SearchMonitor monitor;
+
+    private final List<Node> lastChanged = new ArrayList<>();
+
+    public DynamicShortestPathTree(Graph graph, Node source) {
+        this(graph, source, null);
+    }
+
+    /** {@code monitor} (may be {@code null}) counts one unit of work per settled node. */
+    public DynamicShortestPathTree(Graph graph, Node source, SearchMonitor monitor) {
+        this.graph = graph;
+        this.source = source;
+        this.monitor = monitor;
+        try {
+            rebuild();
+        } finally {
+            this.monitor = null;
+        }
+    }
+
+    public Graph getGraph() { return graph; }
+    public Node getSource() { return source; }
+
+    public int distance(Node node) {
+        Integer i = indexByNode.get(node);
+        return i == null ? INF : dist[i];
+    }
+
+    /** Nodes whose distance or parent changed in the last update (every reachable node after a rebuild). */
+    public List<Node> getLastChanged() { return Collections.unmodifiableList(lastChanged); }
+
+    public Edge parentEdge(Node node) {
+        Integer i = indexByNode.get(node);
+        return i == null ? null : parentEdge[i];
+    }
+
+    public PathResult pathTo(Node end) {
+        List<Node> path = new ArrayList<>();
+        Integer t = indexByNode.get(end);
+        if (t == null || dist[t] == INF) {
+            path.add(end);
+            return new PathResult(INF, path, lastChanged.size());
+        }
+        for (Node at = end; at != null; ) {
+            path.add(at);
+            Edge e = parentEdge[indexByNode.get(at)];
+            at = e == null ? null : e.getFrom();
+        }
+        Collections.reverse(path);
+        return new PathResult(dist[t], path, lastChanged.size());
+    }
+
+    /**
+     * Brings the tree up to date with whatever happened to the graph since the last call, replaying
+     * only the entries of {@link Graph#changesSince(long)}: appended nodes and edges and changed
+     * weights are repaired incrementally. If the log no longer reaches back (the edges were
+     * regenerated), the tree is rebuilt.
+     */
+    public void sync() {
+        sync(null);
+    }
+
+    /**
+     * Like {@link #sync()}, counting one unit of work per settled node on {@code monitor} (may be
+     * {@code null}). If the monitor cancels the update, the tree is left stale and the next sync
+     * rebuilds it.
+     */
+    public void sync(SearchMonitor monitor) {
+        this.monitor = monitor;
+        try {
+            applyChanges();
+        } finally {
+            this.monitor = null;
+        }
+    }
+
+    private void applyChanges() {
+        List<Graph.Change> changes = graph.changesSince(syncedVersion);
+        if (changes == null) {
+            rebuild();
+            return;
+        }
+        // A medio reparar el árbol no es válido: si se cancela, la próxima vez se reconstruye
+        syncedVersion = STALE;
+
+        lastChanged.clear();
+        epoch++;
+        int firstNewEdge = graph.edges.size();
+        // Peso de cada arista al empezar: varios cambios seguidos se reparan como uno solo
+        Map<Edge, Integer> oldWeights = new LinkedHashMap<>();
+        for (Graph.Change change : changes) {
+            switch (change.getKind()) {
+                case NODE_ADDED:
+                    register(graph.nodes.get(change.getIndex()));
+                    break;
+                case EDGE_ADDED:
+                    firstNewEdge = Math.min(firstNewEdge, change.getIndex());
+                    break;
+                case WEIGHT_CHANGED:
+                    if (change.getIndex() < firstNewEdge) {
+                        oldWeights.putIfAbsent(graph.edges.get(change.getIndex()), change.getOldWeight());
+                    }
+                    break;
+            }
+        }
+        oldWeights.forEach(this::repairWeight);
+        // Las aristas nuevas se enlazan con su peso actual
+        for (int i = firstNewEdge; i < graph.edges.size(); i++) {
+            Edge e = graph.edges.get(i);
+            link(e);
+            relaxInto(e);
+        }
+        syncedVersion = graph.getVersion();
+    }
+
+    private void rebuild() {
+        indexByNode.clear();
+        nodes.clear();
+        out.clear();
+        in.clear();
+        lastChanged.clear();
+        epoch++;
+        syncedVersion = STALE;
+        heap.clear(); // puede quedar a medias si se canceló la actualización anterior
+        for (Node node : graph.nodes) {
+            register(node);
+        }
+        for (Edge edge : graph.edges) {
+            link(edge);
+        }
+
+        Integer s = indexByNode.get(source);
+        if (s != null) {
+            dist[s] = 0;
+            touch(s);
+            heap.push(s, 0);
+            propagate();
+        }
+        syncedVersion = graph.getVersion();
+    }
+
+    private void repairWeight(Edge edge, int oldWeight) {
+        if (edge.getWeight() < oldWeight) {
+            relaxInto(edge);
+        } else if (edge.getWeight() > oldWeight) {
+            repairIncrease(edge);
+        }
+    }
+
+    private void relaxInto(Edge edge) {
+        int u = indexByNode.get(edge.getFrom());
+        int v = indexByNode.get(edge.getTo());
+        if (dist[u] == INF) return;
+        int d = dist[u] + edge.getWeight();
+        if (d < dist[v]) {
+            dist[v] = d;
+            parentEdge[v] = edge;
+            touch(v);
+            heap.push(v, d);
+            propagate();
+        }
+    }
+
+    private void repairIncrease(Edge edge) {
+        int v = indexByNode.get(edge.getTo());
+        if (parentEdge[v] != edge) return; // la arista no estaba en el árbol: nada cambia
+
+        // Subárbol que colgaba de la arista: sus distancias ya no son válidas
+        seenEpoch++;
+        List<Integer> affected = new ArrayList<>();
+        affected.add(v);
+        seen[v] = seenEpoch;
+        touch(v);
+        for (int k = 0; k < affected.size(); k++) {
+            int x = affected.get(k);
+            for (Edge e : out.get(x)) {
+                int y = indexByNode.get(e.getTo());
+                if (parentEdge[y] == e && seen[y] != seenEpoch) {
+                    seen[y] = seenEpoch;
+                    touch(y);
+                    affected.add(y);
+                }
+            }
+        }
+        for (int x : affected) {
+            dist[x] = INF;
+            parentEdge[x] = null;
+        }
+
+        // Se reengancha cada nodo afectado a su mejor vecino de entrada no afectado
+        for (int x : affected) {
+            for (Edge e : in.get(x)) {
+                int y = indexByNode.get(e.getFrom());
+                if (dist[y] == INF) continue;
+                int d = dist[y] + e.getWeight();
+                if (d < dist[x]) {
+                    dist[x] = d;
+                    parentEdge[x] = e;
+                }
+            }
+            if (dist[x] != INF) heap.push(x, dist[x]);
+        }
+        propagate();
+    }
+
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int x = heap.pop();
+            if (monitor != null) monitor.tick();
+            for (Edge e : out.get(x)) {
+                int y = indexByNode.get(e.getTo());
+                int d = dist[x] + e.getWeight();
+                if (d < dist[y]) {
+                    dist[y] = d;
+                    parentEdge[y] = e;
+                    touch(y);
+                    heap.push(y, d);
+                }
+            }
+        }
+    }
+
+    private void touch(int node) {
+        if (mark[node] != epoch) {
+            mark[node] = epoch;
+            lastChanged.add(nodes.get(node));
+        }
+    }
+
+    private int register(Node node) {
+        Integer existing = indexByNode.get(node);
+        if (existing != null) return existing;
+
+        int i = nodes.size();
+        if (i == dist.length) {
+            int capacity = Math.max(16, i * 2);
+            dist = Arrays.copyOf(dist, capacity);
+            parentEdge = Arrays.copyOf(parentEdge, capacity);
+            mark = Arrays.copyOf(mark, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+            heap = new IndexedBinaryHeap(capacity);
+        }
+        indexByNode.put(node, i);
+        nodes.add(node);
+        out.add(new ArrayList<>());
+        in.add(new ArrayList<>());
+        dist[i] = INF;
+        parentEdge[i] = null;
+        mark[i] = 0;
+        seen[i] = 0;
+        return i;
+    }
+
+    private void link(Edge edge) {
+        out.get(register(edge.getFrom())).add(edge);
+        in.get(register(edge.getTo())).add(edge);
+    }
+}
@@ -23,4 +23,9 @@ public class Edge {
     public int getWeight() {
         return weight;
     }
+
+    // Solo Graph.setEdgeWeight: así la versión del grafo y su registro de cambios no se saltan
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
 }
@@ -0,0 +1,105 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.AnimatedResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+
+/**
+ * A* guided by the straight-line distance between node positions (usually the on-screen layout).
+ * Weights are not geometric, so the distance is multiplied by a scale no larger than the smallest
+ * {@code weight / length} ratio over all edges; with that scale the estimate never overshoots.
+ */
+public class GeometricAStar {
+
+    public interface Coordinates {
+        double x(Node node);
+        double y(Node node);
+    }
+
+    /**
+     * Copy of the current positions of the nodes of {@code graph}, safe to read from another
+     * thread while the original (e.g. the on-screen layout) keeps changing.
+     */
+    public static Coordinates snapshot(Graph graph, Coordinates coordinates) {
+        int n = graph.nodes.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = coordinates.x(graph.nodes.get(i));
+            ys[i] = coordinates.y(graph.nodes.get(i));
+        }
+        return new Coordinates() {
+            @Override
+            public double x(Node node) {
+                int i = graph.indexOf(node);
+                return i < 0 ? 0 : xs[i];
+            }
+
+            @Override
+            public double y(Node node) {
+                int i = graph.indexOf(node);
+                return i < 0 ? 0 : ys[i];
+            }
+        };
+    }
+
+    /** Largest scale that keeps the straight-line heuristic admissible (and consistent) for the current weights. */
+    public static double admissibleScale(Graph graph, Coordinates coordinates) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (Edge edge : graph.edges) {
+            double length = Math.hypot(
+                    coordinates.x(edge.getTo()) - coordinates.x(edge.getFrom()),
+                    coordinates.y(edge.getTo()) - coordinates.y(edge.getFrom()));
+            if (length > 0) {
+                scale = Math.min(scale, edge.getWeight() / length);
+            }
+        }
+        // Pequeño margen contra el redondeo en coma flotante
+        return Double.isInfinite(scale) ? 0 : scale * (1 - 1e-9);
+    }
+
+    public static PathResult calculateShortestPath(Graph graph, Node start, Node end,
+                                                   Coordinates coordinates, double scale) {
+        CompactGraph csr = CompactGraph.of(graph);
+        return AStarAlgorithm.search(csr, start, end, heuristic(csr, end, coordinates, scale), null);
+    }
+
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               Coordinates coordinates, double scale) {
+        return calculateShortestPathAnimated(graph, start, end, coordinates, scale, null);
+    }
+
+    public static AnimatedResult calculateShortestPathAnimated(Graph graph, Node start, Node end,
+                                                               Coordinates coordinates, double scale,
+                                                               SearchMonitor monitor) {
+        CompactGraph csr = CompactGraph.of(graph);
+        StepTrace steps = StepTrace.of(csr);
+        steps.setMonitor(monitor);
+        int first = steps.add(StepInfo.StepType.INITIALIZE, csr.indexOf(start), StepTrace.NONE, 0, StepTrace.NONE);
+        steps.setNote(first, "Inicializando A* geométrico: nodo origen con distancia 0");
+
+        PathResult finalResult = AStarAlgorithm.search(csr, start, end, heuristic(csr, end, coordinates, scale), steps);
+
+        steps.add(StepInfo.StepType.COMPLETE, csr.indexOf(end), StepTrace.NONE,
+                finalResult.getDistance(), StepTrace.NONE);
+        return new AnimatedResult(steps, finalResult);
+    }
+
+    // Las posiciones se copian al empezar: mover nodos durante la animación no altera la búsqueda
+    private static AStarAlgorithm.Heuristic heuristic(CompactGraph csr, Node end, Coordinates coordinates, double scale) {
+        int n = csr.nodeCount();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = coordinates.x(csr.node(i));
+            ys[i] = coordinates.y(csr.node(i));
+        }
+        int t = csr.indexOf(end);
+        if (t < 0 || !(scale > 0)) {
+            return v -> 0;
+        }
+        double tx = xs[t];
+        double ty = ys[t];
+        return v -> (int) Math.floor(scale * Math.hypot(xs[v] - tx, ys[v] - ty));
+    }
+}
@@ -1,61 +1,218 @@
 package com.fauregalliard.dijsktravisualizer.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
 public class Graph {
+    // Con el registro lleno se descarta su mitad más antigua; quien se quede atrás lo recalcula todo
+    private static final int MAX_CHANGES = 1 << 16;
 
-    public List<Node> nodes;
-    public List<Edge> edges;
+    // Vistas de solo lectura: toda modificación pasa por los métodos de Graph para mantener los índices
+    public final List<Node> nodes;
+    public final List<Edge> edges;
+    private final List<Node> nodeStore;
+    private final List<Edge> edgeStore;
+    // id de nodo -> posición en nodes
+    private final LongIntMap nodeIndex;
+    // (id origen, id destino) empaquetados -> posición de la primera arista con esos extremos
+    private final LongIntMap edgeIndex;
+    // nextParallel[i]: otra arista con los mismos extremos que edges[i], o -1; encadena las paralelas
+    private int[] nextParallel = new int[16];
+    // Se incrementa en cada modificación: las cachés lo usan para saber si sus resultados siguen valiendo
+    private long version;
+    // changes[k] es la modificación que llevó a la versión changeBase + k + 1
+    private final List<Change> changes = new ArrayList<>();
+    private long changeBase;
+    // Durante una carga masiva no se registra nada: al terminar el registro empieza de nuevo
+    private boolean bulkLoading;
+
+    /** One mutation recorded in the change log; {@code index} is a position in {@link #nodes} or {@link #edges}. */
+    public static final class Change {
+        public enum Kind { NODE_ADDED, EDGE_ADDED, WEIGHT_CHANGED }
+
+        private final Kind kind;
+        private final int index;
+        private final int oldWeight;
+
+        private Change(Kind kind, int index, int oldWeight) {
+            this.kind = kind;
+            this.index = index;
+            this.oldWeight = oldWeight;
+        }
+
+        public Kind getKind() { return kind; }
+        public int getIndex() { return index; }
+        /** Weight before the change; only meaningful for {@link Kind#WEIGHT_CHANGED}. */
+        public int getOldWeight() { return oldWeight; }
+    }
 
     public Graph() {
-        nodes = new ArrayList<>();
-        edges = new ArrayList<>();
+        nodeStore = new ArrayList<>();
+        edgeStore = new ArrayList<>();
+        nodes = Collections.unmodifiableList(nodeStore);
+        edges = Collections.unmodifiableList(edgeStore);
+        nodeIndex = new LongIntMap(16);
+        edgeIndex = new LongIntMap(16);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Mutations made after {@code version}, oldest first, or {@code null} if the log does not go back
+     * that far (the edges were regenerated in between) and the caller has to start over.
+     */
+    public List<Change> changesSince(long version) {
+        if (version < changeBase || version > this.version) return null;
+        return Collections.unmodifiableList(changes.subList((int) (version - changeBase), changes.size()));
+    }
+
+    /**
+     * Runs {@code load} (a series of additions) without logging each one: afterwards the log starts
+     * over, as after {@link #createEdges}, so readers of {@link #changesSince} rebuild once.
+     */
+    public void bulkLoad(Runnable load) {
+        boolean outer = bulkLoading;
+        bulkLoading = true;
+        try {
+            load.run();
+        } finally {
+            bulkLoading = outer;
+            if (!outer) restartLog();
+        }
     }
 
     public void addNode(Node node) {
-        nodes.add(node);
+        if (nodeIndex.get(node.getId()) != LongIntMap.MISSING) {
+            throw new IllegalArgumentException("Duplicate node id: " + node.getId());
+        }
+        nodeIndex.put(node.getId(), nodeStore.size());
+        nodeStore.add(node);
+        record(Change.Kind.NODE_ADDED, nodeStore.size() - 1, 0);
     }
 
     public void addEdge(Node from, Node to, int weight) {
-        edges.add(new Edge(from, to, weight));
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Edge endpoints must be nodes of the graph");
+        }
+        Edge edge = new Edge(from, to, weight);
+        long key = edgeKey(from, to);
+        int i = edgeStore.size();
+        if (i == nextParallel.length) nextParallel = Arrays.copyOf(nextParallel, i * 2);
+        int first = edgeIndex.get(key);
+        if (first == LongIntMap.MISSING) {
+            edgeIndex.put(key, i);
+            nextParallel[i] = -1;
+        } else {
+            // Se engancha justo detrás de la primera: el orden de la cadena no importa
+            nextParallel[i] = nextParallel[first];
+            nextParallel[first] = i;
+        }
+        edgeStore.add(edge);
+        record(Change.Kind.EDGE_ADDED, edgeStore.size() - 1, 0);
+    }
+
+    public void setEdgeWeight(Edge edge, int weight) {
+        int i = indexOf(edge);
+        if (i < 0) {
+            throw new IllegalArgumentException("Edge is not part of the graph");
+        }
+        int oldWeight = edge.getWeight();
+        edge.setWeight(weight);
+        record(Change.Kind.WEIGHT_CHANGED, i, oldWeight);
     }
 
-    private boolean edgeExists(Node a, Node b) {
-        return edges.stream().anyMatch(e ->
-                (e.getFrom() == a && e.getTo() == b) || (e.getFrom() == b && e.getTo() == a));
+    /** First edge added from {@code from} to {@code to}, or {@code null}. */
+    public Edge getEdge(Node from, Node to) {
+        int i = edgeIndex.get(edgeKey(from, to));
+        return i == LongIntMap.MISSING ? null : edgeStore.get(i);
+    }
+
+    /** Every edge from {@code from} to {@code to}, parallel ones included; empty if there is none. */
+    public List<Edge> edgesBetween(Node from, Node to) {
+        List<Edge> found = new ArrayList<>();
+        for (int i = edgeIndex.get(edgeKey(from, to)); i >= 0; i = nextParallel[i]) {
+            found.add(edgeStore.get(i));
+        }
+        return found;
+    }
+
+    /** Whether the two nodes are already joined by an edge in either direction. */
+    public boolean edgeExists(Node a, Node b) {
+        return getEdge(a, b) != null || getEdge(b, a) != null;
     }
 
     public void createNodes(int num) {
         for (int i = 0; i < num; i++) {
-            Node node = new Node(nodes.size() + 1);
+            Node node = new Node(nodeStore.size() + 1);
             addNode(node);
         }
     }
 
     public void createEdges(int maxWeight, int density) {
-        Random random = new Random();
-        edges.clear();
-        for (int i = 0; i < nodes.size() - 1; i++) {
-            addEdge(nodes.get(i), nodes.get(i + 1), random.nextInt(maxWeight) + 1);
-        }
-        double prob = density / 100.0;
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = i + 2; j < nodes.size(); j++) {
-                if (random.nextDouble() < prob) {
-                    addEdge(nodes.get(i), nodes.get(j), random.nextInt(maxWeight) + 1);
+        createEdges(maxWeight, density, new Random().nextLong());
+    }
+
+    /** Random edges between the current nodes; the same seed always gives the same edges. */
+    public void createEdges(int maxWeight, int density, long seed) {
+        edgeStore.clear();
+        edgeIndex.clear();
+        Node[] order = nodeStore.toArray(new Node[0]);
+        CompactGraph generated = RandomGraphGenerator.generate(order, density / 100.0, maxWeight, seed);
+        int[] offsets = generated.offsets();
+        int[] targets = generated.targets();
+        int[] weights = generated.weights();
+        // Las posiciones anteriores dejan de valer: el registro empieza de nuevo
+        bulkLoad(() -> {
+            for (int u = 0; u < order.length; u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    addEdge(order[u], order[targets[slot]], weights[slot]);
                 }
             }
-        }
+        });
+    }
+
+    /** Node with the given id, or {@code null} if there is none. */
+    public Node getFromId(int id) {
+        int i = nodeIndex.get(id);
+        return i == LongIntMap.MISSING ? null : nodeStore.get(i);
+    }
+
+    public int indexOf(Node node) {
+        int i = nodeIndex.get(node.getId());
+        return i != LongIntMap.MISSING && nodeStore.get(i) == node ? i : -1;
     }
 
-    public Node getFromId(int id){
+    /** Position of {@code edge} in {@link #edges}, or -1 if it is not part of this graph. */
+    public int indexOf(Edge edge) {
+        // MISSING es -1: sin aristas con esos extremos no se entra en el bucle; solo se recorren las paralelas
+        for (int i = edgeIndex.get(edgeKey(edge.getFrom(), edge.getTo())); i >= 0; i = nextParallel[i]) {
+            if (edgeStore.get(i) == edge) return i;
+        }
+        return -1;
+    }
 
-        for(int i = 0;i < nodes.size();i++){
-            if(nodes.get(i).getId()== id) return nodes.get(i);
+    private void record(Change.Kind kind, int index, int oldWeight) {
+        if (bulkLoading) return;
+        if (changes.size() == MAX_CHANGES) {
+            changes.subList(0, MAX_CHANGES / 2).clear();
+            changeBase += MAX_CHANGES / 2;
         }
-        System.out.println("no se encontro el nodo");
-        return nodes.get(0);
+        changes.add(new Change(kind, index, oldWeight));
+        version++;
+    }
+
+    private void restartLog() {
+        version++;
+        changes.clear();
+        changeBase = version;
+    }
+
+    private static long edgeKey(Node from, Node to) {
+        return ((long) from.getId() << 32) | (to.getId() & 0xffffffffL);
     }
 }
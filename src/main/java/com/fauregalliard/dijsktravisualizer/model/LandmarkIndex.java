@@ -0,0 +1,212 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.AnimatedResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * ALT preprocessing: distances from and to a few landmark nodes, stored as flat
+ * {@code [landmark * n + node]} tables. By the triangle inequality
+ * {@code d(v,t) >= d(L,t) - d(L,v)} and {@code d(v,t) >= d(v,L) - d(t,L)}, which gives A* a
+ * consistent lower bound for any target. Build once per graph, then query as often as needed.
+ */
+public class LandmarkIndex {
+    private static final int INF = Integer.MAX_VALUE;
+
+    public enum Strategy {
+        /** Each new landmark is the node farthest from the ones already chosen. */
+        FARTHEST,
+        /** Goldberg–Werneck "avoid": grow landmarks into the regions worst covered by the current bounds. */
+        AVOID
+    }
+
+    private final CompactGraph csr;
+    private final int[] landmarks;
+    private final int[] fromLandmark;
+    private final int[] toLandmark;
+
+    private LandmarkIndex(CompactGraph csr, int[] landmarks, int[] fromLandmark, int[] toLandmark) {
+        this.csr = csr;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    public static LandmarkIndex build(Graph graph, int count, Strategy strategy) {
+        return build(graph, count, strategy, null);
+    }
+
+    /** {@code monitor} (may be {@code null}) counts one unit of work per node settled by the searches. */
+    public static LandmarkIndex build(Graph graph, int count, Strategy strategy, SearchMonitor monitor) {
+        return build(CompactGraph.of(graph), count, strategy, 42, monitor);
+    }
+
+    public static LandmarkIndex build(CompactGraph csr, int count, Strategy strategy, long seed) {
+        return build(csr, count, strategy, seed, null);
+    }
+
+    public static LandmarkIndex build(CompactGraph csr, int count, Strategy strategy, long seed,
+                                      SearchMonitor monitor) {
+        int n = csr.nodeCount();
+        int k = Math.min(count, n);
+        int[] landmarks = new int[k];
+        int[] from = new int[k * n];
+        int[] to = new int[k * n];
+        if (k == 0) {
+            return new LandmarkIndex(csr, landmarks, from, to);
+        }
+
+        // La selección es secuencial (cada hito depende de los anteriores) y usa solo las tablas directas
+        Random random = new Random(seed);
+        boolean[] chosen = new boolean[n];
+        for (int i = 0; i < k; i++) {
+            int landmark = strategy == Strategy.AVOID
+                    ? pickAvoid(csr, landmarks, from, i, chosen, random.nextInt(n), monitor)
+                    : pickFarthest(csr, from, i, chosen, random.nextInt(n), monitor);
+            landmarks[i] = landmark;
+            chosen[landmark] = true;
+            ShortestPathTree tree = ShortestPathTree.compute(csr, landmark, DijkstraAlgorithm.DEFAULT_FRONTIER,
+                    monitor);
+            for (int v = 0; v < n; v++) {
+                from[i * n + v] = tree.distance(v);
+            }
+        }
+
+        // Las tablas inversas son independientes entre sí
+        CompactGraph rev = csr.reverse();
+        IntStream.range(0, k).parallel().forEach(i -> {
+            ShortestPathTree tree = ShortestPathTree.compute(rev, landmarks[i], DijkstraAlgorithm.DEFAULT_FRONTIER,
+                    monitor != null ? monitor.fork() : null);
+            for (int v = 0; v < n; v++) {
+                to[i * n + v] = tree.distance(v);
+            }
+        });
+        if (monitor != null) monitor.checkpoint();
+
+        return new LandmarkIndex(csr, landmarks, from, to);
+    }
+
+    private static int pickFarthest(CompactGraph csr, int[] from, int chosenCount, boolean[] chosen, int root,
+                                    SearchMonitor monitor) {
+        int n = csr.nodeCount();
+        if (chosenCount == 0) {
+            ShortestPathTree tree = ShortestPathTree.compute(csr, root, DijkstraAlgorithm.DEFAULT_FRONTIER, monitor);
+            int[] order = tree.settleOrder();
+            return order[order.length - 1];
+        }
+        // Nodos que ningún hito alcanza cuentan como infinitamente lejanos
+        int best = -1;
+        long bestScore = -1;
+        for (int v = 0; v < n; v++) {
+            if (chosen[v]) continue;
+            long score = Long.MAX_VALUE;
+            for (int i = 0; i < chosenCount; i++) {
+                score = Math.min(score, from[i * n + v]);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    private static int pickAvoid(CompactGraph csr, int[] landmarks, int[] from, int chosenCount,
+                                 boolean[] chosen, int root, SearchMonitor monitor) {
+        int n = csr.nodeCount();
+        ShortestPathTree tree = ShortestPathTree.compute(csr, root, DijkstraAlgorithm.DEFAULT_FRONTIER, monitor);
+        int[] order = tree.settleOrder();
+
+        // Peso: cuánto se queda corta la cota actual d(L,v) - d(L,r) respecto a d(r,v)
+        long[] size = new long[n];
+        boolean[] covered = new boolean[n];
+        for (int idx = order.length - 1; idx >= 0; idx--) {
+            int v = order[idx];
+            int bound = 0;
+            for (int i = 0; i < chosenCount; i++) {
+                int lv = from[i * n + v];
+                int lr = from[i * n + root];
+                if (lv != INF && lr != INF && lv - lr > bound) bound = lv - lr;
+            }
+            size[v] += tree.distance(v) - bound;
+            if (chosen[v]) covered[v] = true;
+            if (covered[v]) size[v] = 0;
+
+            int p = tree.parent(v);
+            if (p >= 0) {
+                size[p] += size[v];
+                if (covered[v]) covered[p] = true;
+            }
+        }
+
+        int[] bestChild = new int[n];
+        Arrays.fill(bestChild, -1);
+        for (int v : order) {
+            int p = tree.parent(v);
+            if (p >= 0 && size[v] > 0 && (bestChild[p] < 0 || size[v] > size[bestChild[p]])) {
+                bestChild[p] = v;
+            }
+        }
+
+        if (size[root] == 0) {
+            return pickFarthest(csr, from, chosenCount, chosen, root, monitor);
+        }
+        int v = root;
+        while (bestChild[v] >= 0) {
+            v = bestChild[v];
+        }
+        return chosen[v] ? pickFarthest(csr, from, chosenCount, chosen, root, monitor) : v;
+    }
+
+    public CompactGraph getGraph() { return csr; }
+
+    public int[] getLandmarks() { return landmarks.clone(); }
+
+    public AStarAlgorithm.Heuristic heuristicTo(int target) {
+        int n = csr.nodeCount();
+        int k = landmarks.length;
+        return v -> {
+            int h = 0;
+            for (int i = 0; i < k; i++) {
+                int lt = fromLandmark[i * n + target];
+                int lv = fromLandmark[i * n + v];
+                if (lv != INF) {
+                    if (lt == INF) return INF; // L llega a v pero no al destino
+                    if (lt - lv > h) h = lt - lv;
+                }
+                int vl = toLandmark[i * n + v];
+                int tl = toLandmark[i * n + target];
+                if (tl != INF) {
+                    if (vl == INF) return INF; // el destino llega a L pero v no
+                    if (vl - tl > h) h = vl - tl;
+                }
+            }
+            return h;
+        };
+    }
+
+    public PathResult calculateShortestPath(Node start, Node end) {
+        return AStarAlgorithm.search(csr, start, end, heuristicTo(csr.indexOf(end)), null);
+    }
+
+    public AnimatedResult calculateShortestPathAnimated(Node start, Node end) {
+        return calculateShortestPathAnimated(start, end, null);
+    }
+
+    public AnimatedResult calculateShortestPathAnimated(Node start, Node end, SearchMonitor monitor) {
+        StepTrace steps = StepTrace.of(csr);
+        steps.setMonitor(monitor);
+        int first = steps.add(StepInfo.StepType.INITIALIZE, csr.indexOf(start), StepTrace.NONE, 0, StepTrace.NONE);
+        steps.setNote(first, "Inicializando A* con " + landmarks.length + " hitos: nodo origen con distancia 0");
+
+        PathResult finalResult = AStarAlgorithm.search(csr, start, end, heuristicTo(csr.indexOf(end)), steps);
+
+        steps.add(StepInfo.StepType.COMPLETE, csr.indexOf(end), StepTrace.NONE,
+                finalResult.getDistance(), StepTrace.NONE);
+        return new AnimatedResult(steps, finalResult);
+    }
+}
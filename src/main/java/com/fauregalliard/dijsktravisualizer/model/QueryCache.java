@@ -0,0 +1,214 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.AnimatedResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * LRU cache in front of the shortest-path engines, bounded by entry count for trees and by the total
+ * number of recorded steps for animation traces. Entries are keyed by the graph,
+ * its {@link Graph#getVersion() version} and the query, so any mutation of the graph makes older
+ * entries unreachable (they age out through LRU eviction). A full {@link ShortestPathTree} is kept
+ * per source, so every later target from that source is answered by walking parents. A few
+ * {@link DynamicShortestPathTree}s are kept per (graph, source) across versions and repaired on reuse.
+ */
+public class QueryCache {
+    // Unos 17 bytes por paso en StepTrace: del orden de 35 MB de trazas como mucho
+    public static final long DEFAULT_TRACE_STEPS = 2_000_000;
+    // Cada árbol incremental ocupa varios arrays del tamaño del grafo
+    private static final int DYNAMIC_TREES = 4;
+
+    private final LruMap<Key, ShortestPathTree> trees;
+    private final LruMap<Key, AnimatedResult> traces;
+    private final LruMap<Key, CompactGraph> graphs;
+    private final LruMap<Key, DynamicShortestPathTree> dynamicTrees = new LruMap<>(DYNAMIC_TREES, tree -> 1);
+    private long hits;
+    private long misses;
+
+    public QueryCache(int capacity) {
+        this(capacity, DEFAULT_TRACE_STEPS);
+    }
+
+    /** At most {@code capacity} trees, and traces totalling at most {@code maxTraceSteps} steps. */
+    public QueryCache(int capacity, long maxTraceSteps) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        if (maxTraceSteps < 1) {
+            throw new IllegalArgumentException("Trace budget must be positive: " + maxTraceSteps);
+        }
+        trees = new LruMap<>(capacity, tree -> 1);
+        traces = new LruMap<>(maxTraceSteps, result -> result.getTrace().size());
+        // Una vista CSR por versión basta para todos los orígenes de esa versión
+        graphs = new LruMap<>(2, csr -> 1);
+    }
+
+    public synchronized PathResult shortestPath(Graph graph, Node source, Node target) {
+        return shortestPath(graph, source, target, null);
+    }
+
+    /** On a miss the whole tree of {@code source} is computed, so later targets only walk parents. */
+    public synchronized PathResult shortestPath(Graph graph, Node source, Node target, SearchMonitor monitor) {
+        return tree(graph, source, monitor).pathTo(target);
+    }
+
+    public synchronized ShortestPathTree tree(Graph graph, Node source) {
+        return tree(graph, source, null);
+    }
+
+    /** {@code monitor} (may be {@code null}) can cancel the computation on a miss; nothing is cached then. */
+    public synchronized ShortestPathTree tree(Graph graph, Node source, SearchMonitor monitor) {
+        Key key = new Key(graph, graph.getVersion(), source, null, null);
+        ShortestPathTree tree = trees.get(key);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+        CompactGraph csr = compactGraph(graph);
+        int s = csr.indexOf(source);
+        if (s < 0) {
+            throw new IllegalArgumentException("Source node is not part of the graph: " + source.getId());
+        }
+        tree = ShortestPathTree.compute(csr, s, DijkstraAlgorithm.DEFAULT_FRONTIER, monitor);
+        trees.put(key, tree);
+        return tree;
+    }
+
+    /**
+     * Incremental tree of {@code source} in {@code graph}, built on a miss and otherwise brought up to
+     * date with {@link DynamicShortestPathTree#sync}. {@code monitor} (may be {@code null}) can cancel
+     * either; a cancelled repair leaves the tree marked for a rebuild on its next use.
+     */
+    public synchronized DynamicShortestPathTree dynamicTree(Graph graph, Node source, SearchMonitor monitor) {
+        // Sin versión en la clave: el árbol se pone al día él solo
+        Key key = new Key(graph, 0, source, null, null);
+        DynamicShortestPathTree tree = dynamicTrees.get(key);
+        if (tree != null) {
+            hits++;
+            tree.sync(monitor);
+            return tree;
+        }
+        misses++;
+        tree = new DynamicShortestPathTree(graph, source, monitor);
+        dynamicTrees.put(key, tree);
+        return tree;
+    }
+
+    /**
+     * Returns the cached step trace of {@code algorithm} for this pair, computing it on a miss.
+     * {@code algorithm} is any stable name that tells the engines apart.
+     */
+    public synchronized AnimatedResult animated(Graph graph, String algorithm, Node source, Node target,
+                                                Supplier<AnimatedResult> compute) {
+        Key key = new Key(graph, graph.getVersion(), source, target, algorithm);
+        AnimatedResult result = traces.get(key);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        misses++;
+        result = compute.get();
+        traces.put(key, result);
+        return result;
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized int size() { return trees.size() + traces.size(); }
+
+    public synchronized void clear() {
+        trees.clear();
+        traces.clear();
+        graphs.clear();
+        dynamicTrees.clear();
+    }
+
+    /** CSR view of the current version of {@code graph}, shared by every query on that version. */
+    public synchronized CompactGraph compactGraph(Graph graph) {
+        Key key = new Key(graph, graph.getVersion(), null, null, null);
+        CompactGraph csr = graphs.get(key);
+        if (csr == null) {
+            csr = CompactGraph.of(graph);
+            graphs.put(key, csr);
+        }
+        return csr;
+    }
+
+    // Mapa en orden de acceso: mientras el peso total supera la capacidad sale el usado hace más tiempo
+    private static final class LruMap<K, V> {
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final long capacity;
+        private final ToLongFunction<V> weigher;
+        private long weight;
+
+        LruMap(long capacity, ToLongFunction<V> weigher) {
+            this.capacity = capacity;
+            this.weigher = weigher;
+        }
+
+        V get(K key) {
+            return map.get(key);
+        }
+
+        // Una entrada que por sí sola excede la capacidad tampoco se queda
+        void put(K key, V value) {
+            V previous = map.put(key, value);
+            if (previous != null) weight -= weigher.applyAsLong(previous);
+            weight += weigher.applyAsLong(value);
+            Iterator<V> eldest = map.values().iterator();
+            while (weight > capacity && eldest.hasNext()) {
+                weight -= weigher.applyAsLong(eldest.next());
+                eldest.remove();
+            }
+        }
+
+        int size() {
+            return map.size();
+        }
+
+        void clear() {
+            map.clear();
+            weight = 0;
+        }
+    }
+
+    // El grafo se compara por identidad: dos grafos iguales siguen siendo instancias distintas
+    private static final class Key {
+        final Graph graph;
+        final long version;
+        final Node source;
+        final Node target;
+        final String algorithm;
+
+        Key(Graph graph, long version, Node source, Node target, String algorithm) {
+            this.graph = graph;
+            this.version = version;
+            this.source = source;
+            this.target = target;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return graph == other.graph && version == other.version && source == other.source
+                    && target == other.target && Objects.equals(algorithm, other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = System.identityHashCode(graph);
+            h = 31 * h + Long.hashCode(version);
+            h = 31 * h + System.identityHashCode(source);
+            h = 31 * h + System.identityHashCode(target);
+            return 31 * h + Objects.hashCode(algorithm);
+        }
+    }
+}
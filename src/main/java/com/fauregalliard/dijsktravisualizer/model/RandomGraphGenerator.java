@@ -0,0 +1,140 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Random graphs with the same shape as {@link Graph#createEdges}: a chain {@code i -> i+1} plus every
+ * pair {@code i -> j} ({@code j >= i+2}) independently with probability {@code p}. Instead of one
+ * trial per pair, the gap to the next chosen pair is drawn from a geometric distribution
+ * (Batagelj–Brandes), so the cost is O(V + E). Rows are cut into blocks with about the same number
+ * of candidate pairs; every block draws from its own stream split off the seed, so blocks can be
+ * generated in parallel and the result depends only on the seed.
+ */
+public class RandomGraphGenerator {
+    private static final int MAX_BLOCKS = 256;
+    private static final long PAIRS_PER_BLOCK = 1 << 16;
+
+    private RandomGraphGenerator() {
+    }
+
+    public static CompactGraph generate(int nodeCount, double edgeProbability, int maxWeight, long seed) {
+        Node[] nodes = new Node[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = new Node(i + 1);
+        }
+        return generate(nodes, edgeProbability, maxWeight, seed);
+    }
+
+    /** Generates edges between the given nodes; the i-th node plays the role of row {@code i}. */
+    public static CompactGraph generate(Node[] nodes, double edgeProbability, int maxWeight, long seed) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+        }
+        int n = nodes.length;
+        double p = Math.max(0.0, Math.min(1.0, edgeProbability));
+        int[] rowStart = splitRows(n);
+        int blocks = rowStart.length - 1;
+
+        // Los flujos se separan en orden, antes de repartir trabajo: el resultado no depende de los hilos
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            streams[b] = root.split();
+        }
+
+        Block[] parts = new Block[blocks];
+        IntStream.range(0, blocks).parallel().forEach(b ->
+                parts[b] = generateBlock(n, rowStart[b], rowStart[b + 1], p, maxWeight, streams[b]));
+
+        // Cada bloque ya sale ordenado por origen: basta con concatenar
+        int[] blockOffset = new int[blocks + 1];
+        for (int b = 0; b < blocks; b++) {
+            blockOffset[b + 1] = Math.addExact(blockOffset[b], parts[b].size);
+        }
+        int m = blockOffset[blocks];
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            Block part = parts[b];
+            System.arraycopy(part.targets, 0, targets, blockOffset[b], part.size);
+            System.arraycopy(part.weights, 0, weights, blockOffset[b], part.size);
+            for (int i = 0; i < part.size; i++) {
+                offsets[part.sources[i] + 1]++;
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] edgeIds = new int[m];
+        Arrays.setAll(edgeIds, slot -> slot);
+        return new CompactGraph(nodes, offsets, targets, weights, edgeIds, null);
+    }
+
+    // Cortes de fila con un número parecido de pares candidatos (la fila i tiene n-i-2)
+    private static int[] splitRows(int n) {
+        long pairs = n < 2 ? 0 : (long) (n - 2) * (n - 1) / 2;
+        int blocks = (int) Math.max(1, Math.min(MAX_BLOCKS, Math.min(n, pairs / PAIRS_PER_BLOCK)));
+        int[] rowStart = new int[blocks + 1];
+        long perBlock = pairs / blocks + 1;
+        long acc = 0;
+        int b = 1;
+        for (int i = 0; i < n && b < blocks; i++) {
+            acc += Math.max(0, n - i - 2);
+            if (acc >= perBlock * b) {
+                rowStart[b++] = i + 1;
+            }
+        }
+        while (b <= blocks) {
+            rowStart[b++] = n;
+        }
+        return rowStart;
+    }
+
+    private static Block generateBlock(int n, int from, int to, double p, int maxWeight, SplittableRandom random) {
+        Block block = new Block();
+        double logQ = p < 1.0 ? Math.log1p(-p) : 0.0;
+        // Pares candidatos que quedan por saltar; se arrastra de una fila a la siguiente
+        long skip = nextSkip(random, p, logQ);
+        for (int i = from; i < to; i++) {
+            if (i + 1 < n) {
+                block.add(i, i + 1, random.nextInt(maxWeight) + 1);
+            }
+            long rowPairs = Math.max(0, n - i - 2);
+            while (skip < rowPairs) {
+                block.add(i, (int) (i + 2 + skip), random.nextInt(maxWeight) + 1);
+                skip += 1 + nextSkip(random, p, logQ);
+            }
+            skip -= rowPairs;
+        }
+        return block;
+    }
+
+    private static long nextSkip(SplittableRandom random, double p, double logQ) {
+        if (p <= 0.0) return Long.MAX_VALUE / 2;
+        if (p >= 1.0) return 0;
+        double gap = Math.floor(Math.log1p(-random.nextDouble()) / logQ);
+        return gap >= Long.MAX_VALUE / 2 ? Long.MAX_VALUE / 2 : (long) gap;
+    }
+
+    private static final class Block {
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        int[] weights = new int[16];
+        int size;
+
+        void add(int source, int target, int weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cancellation and progress for a search on a worker thread. Engines call {@link #tick()} once per
+ * unit of work; every 1024 ticks the monitor checks for cancellation and, at most every
+ * {@code progressIntervalMillis}, reports progress. The listener runs on the worker thread.
+ */
+public class SearchMonitor {
+    /** Called with the reporting monitor; {@link #getWork()} holds the work done so far. */
+    public interface ProgressListener {
+        void onProgress(SearchMonitor monitor);
+    }
+
+    // Cada 1024 unidades: la comprobación cuesta poco y la cancelación llega en microsegundos
+    private static final int CHECK_MASK = 1023;
+
+    private final ProgressListener listener;
+    private final long progressIntervalNanos;
+    private final SearchMonitor parent;
+    private volatile boolean cancelled;
+    private long work;
+    private long lastReport;
+
+    public SearchMonitor(ProgressListener listener, long progressIntervalMillis) {
+        this(listener, progressIntervalMillis, null);
+    }
+
+    private SearchMonitor(ProgressListener listener, long progressIntervalMillis, SearchMonitor parent) {
+        this.listener = listener;
+        this.progressIntervalNanos = progressIntervalMillis * 1_000_000L;
+        this.parent = parent;
+        this.lastReport = System.nanoTime();
+    }
+
+    /**
+     * Monitor for one branch of this search running on another thread: it reports no progress and
+     * stops as soon as this monitor is cancelled. A monitor must not be ticked from two threads.
+     */
+    public SearchMonitor fork() {
+        return new SearchMonitor(null, 0, this);
+    }
+
+    /** May be called from any thread; the search stops at its next check. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+
+    public long getWork() {
+        return work;
+    }
+
+    /** Counts one unit of work; throws {@link CancellationException} once the search is cancelled. */
+    public void tick() {
+        if ((++work & CHECK_MASK) == 0) {
+            checkpoint();
+        }
+    }
+
+    /** Checks for cancellation now and reports progress if it is due. */
+    public void checkpoint() {
+        if (isCancelled() || Thread.currentThread().isInterrupted()) {
+            cancelled = true;
+            throw new CancellationException("Search cancelled");
+        }
+        long now = System.nanoTime();
+        if (listener != null && now - lastReport >= progressIntervalNanos) {
+            lastReport = now;
+            listener.onProgress(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.frontier.Frontier;
+import com.fauregalliard.dijsktravisualizer.model.frontier.FrontierType;
+
+import java.util.Arrays;
+
+/**
+ * Full single-source Dijkstra result over a {@link CompactGraph}: distance and parent of every
+ * node, plus the order in which nodes were settled. Any target is then answered by walking parents.
+ */
+public class ShortestPathTree {
+    public static final int INF = Integer.MAX_VALUE;
+
+    private final CompactGraph csr;
+    private final int source;
+    private final int[] dist;
+    private final int[] parent;
+    private final int[] settleOrder;
+
+    private ShortestPathTree(CompactGraph csr, int source, int[] dist, int[] parent, int[] settleOrder) {
+        this.csr = csr;
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+        this.settleOrder = settleOrder;
+    }
+
+    public static ShortestPathTree compute(CompactGraph csr, int source) {
+        return compute(csr, source, DijkstraAlgorithm.DEFAULT_FRONTIER);
+    }
+
+    public static ShortestPathTree compute(CompactGraph csr, int source, FrontierType frontierType) {
+        return compute(csr, source, frontierType, null);
+    }
+
+    /** {@code monitor} (may be {@code null}) counts one unit of work per settled node. */
+    public static ShortestPathTree compute(CompactGraph csr, int source, FrontierType frontierType,
+                                           SearchMonitor monitor) {
+        int n = csr.nodeCount();
+        int[] dist = new int[n];
+        int[] parent = new int[n];
+        int[] order = new int[n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(parent, -1);
+
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+        boolean[] done = new boolean[n];
+        Frontier frontier = frontierType.create(n, csr.maxWeight());
+        dist[source] = 0;
+        frontier.push(source, 0);
+        int settled = 0;
+
+        while (!frontier.isEmpty()) {
+            int u = frontier.pop();
+            done[u] = true;
+            order[settled++] = u;
+            if (monitor != null) monitor.tick();
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int v = targets[slot];
+                if (done[v]) continue;
+                int newDist = dist[u] + weights[slot];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    frontier.push(v, newDist);
+                }
+            }
+        }
+        return new ShortestPathTree(csr, source, dist, parent, Arrays.copyOf(order, settled));
+    }
+
+    public CompactGraph getGraph() { return csr; }
+    public int getSource() { return source; }
+
+    public int distance(int node) { return dist[node]; }
+    public int parent(int node) { return parent[node]; }
+
+    /** Reachable nodes in non-decreasing distance order (the source first). */
+    public int[] settleOrder() { return settleOrder; }
+
+    public PathResult pathTo(Node end) {
+        return DijkstraAlgorithm.buildPath(csr, dist, parent, csr.indexOf(end), end, settleOrder.length);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+
+import java.util.Iterator;
+
+/**
+ * Steps of an animated search, pulled one at a time. A source may replay a recorded trace or run
+ * the search itself as steps are requested.
+ */
+public interface StepSource extends Iterator<StepInfo> {
+    /** Result of the search; only valid once {@link #hasNext()} has returned {@code false}. */
+    PathResult getFinalResult();
+
+    /** Trace this source replays, or {@code null} if its steps are produced on the fly. */
+    default StepTrace getTrace() {
+        return null;
+    }
+}
@@ -0,0 +1,175 @@
+package com.fauregalliard.dijsktravisualizer.model;
+
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.StepInfo.StepType;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Animation trace stored column by column: one entry per step in parallel primitive arrays (type,
+ * current and neighbour node index, distance, edge id). Nodes and edges are resolved and the
+ * description is formatted only when a step is read, so recording a step allocates nothing.
+ */
+public class StepTrace {
+    /** Builds the text shown for a step; only called when the step is displayed. */
+    public interface Formatter {
+        String describe(StepTrace trace, int step);
+    }
+
+    public static final int NONE = -1;
+
+    private static final StepType[] TYPES = StepType.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final IntFunction<Node> nodes;
+    private final IntFunction<Edge> edges;
+    private Formatter formatter = StepTrace::defaultDescription;
+    private SearchMonitor monitor;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] currents = new int[INITIAL_CAPACITY];
+    private int[] neighbors = new int[INITIAL_CAPACITY];
+    private int[] distances = new int[INITIAL_CAPACITY];
+    private int[] edgeIds = new int[INITIAL_CAPACITY];
+    // Columna opcional (p. ej. la estimación de A*); solo se reserva si alguien la usa
+    private int[] extras;
+    // Textos fijos de unos pocos pasos (la inicialización), indexados por paso
+    private final Map<Integer, String> notes = new HashMap<>();
+    private int size;
+
+    public StepTrace(IntFunction<Node> nodes, IntFunction<Edge> edges) {
+        this.nodes = nodes;
+        this.edges = edges;
+    }
+
+    /** Node indexes are CSR indexes of {@code csr}; edge ids are its edge ids. */
+    public static StepTrace of(CompactGraph csr) {
+        return new StepTrace(csr::node, csr::edgeById);
+    }
+
+    /** Node indexes are positions in {@code graph.nodes}; edge ids are positions in {@code graph.edges}. */
+    public static StepTrace of(Graph graph) {
+        return new StepTrace(graph.nodes::get, id -> graph.edges.get(id));
+    }
+
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /** Every recorded step counts as one unit of work for {@code monitor}, which may cancel the search. */
+    public void setMonitor(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /** Appends a step; pass {@link #NONE} for a missing node or edge. Returns the step index. */
+    public int add(StepType type, int current, int neighbor, int distance, int edgeId) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            currents = Arrays.copyOf(currents, capacity);
+            neighbors = Arrays.copyOf(neighbors, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            edgeIds = Arrays.copyOf(edgeIds, capacity);
+            if (extras != null) extras = Arrays.copyOf(extras, capacity);
+        }
+        types[size] = (byte) type.ordinal();
+        currents[size] = current;
+        neighbors[size] = neighbor;
+        distances[size] = distance;
+        edgeIds[size] = edgeId;
+        if (extras != null) extras[size] = NONE;
+        if (monitor != null) monitor.tick();
+        return size++;
+    }
+
+    /** Attaches an extra value to {@code step}, available to the formatter through {@link #extra}. */
+    public void setExtra(int step, int value) {
+        if (extras == null) {
+            extras = new int[types.length];
+            Arrays.fill(extras, NONE);
+        }
+        extras[step] = value;
+    }
+
+    /** Fixed text for {@code step}, used instead of the formatter. */
+    public void setNote(int step, String text) {
+        notes.put(step, text);
+    }
+
+    public int size() { return size; }
+
+    public StepType type(int step) { return TYPES[types[step]]; }
+    public int current(int step) { return currents[step]; }
+    public int neighbor(int step) { return neighbors[step]; }
+    public int distance(int step) { return distances[step]; }
+    public int edgeId(int step) { return edgeIds[step]; }
+    public int extra(int step) { return extras == null ? NONE : extras[step]; }
+
+    public Node currentNode(int step) { return node(currents[step]); }
+    public Node neighborNode(int step) { return node(neighbors[step]); }
+    public Edge edge(int step) { return edgeIds[step] == NONE ? null : edges.apply(edgeIds[step]); }
+
+    public String description(int step) {
+        String note = notes.get(step);
+        return note != null ? note : formatter.describe(this, step);
+    }
+
+    /** Step {@code step} as a {@link StepInfo}; its description is formatted on first use. */
+    public StepInfo get(int step) {
+        if (step < 0 || step >= size) {
+            throw new IndexOutOfBoundsException("Step " + step + " of " + size);
+        }
+        return new StepInfo(this, step);
+    }
+
+    /** Read-only list view; every {@code get} materialises one step. */
+    public List<StepInfo> asList() {
+        return new AbstractList<>() {
+            @Override
+            public StepInfo get(int index) {
+                return StepTrace.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Node node(int index) {
+        return index == NONE ? null : nodes.apply(index);
+    }
+
+    private static String defaultDescription(StepTrace trace, int step) {
+        return describe(trace.type(step), trace.currentNode(step), trace.neighborNode(step),
+                trace.distance(step), trace.extra(step));
+    }
+
+    /** Standard text of a step; {@code extra} is the A* estimate of a visit, or {@link #NONE}. */
+    static String describe(StepType type, Node current, Node neighbor, int distance, int extra) {
+        switch (type) {
+            case INITIALIZE:
+                return "Inicializando: Nodo origen con distancia 0";
+            case VISIT_NODE:
+            case VISIT_NODE_BACKWARD:
+                String visit = type == StepType.VISIT_NODE ? "Visitando nodo " : "Visitando (inverso) nodo ";
+                return visit + current.getId() + " (distancia: " + distance
+                        + (extra != NONE ? ", estimación: " + extra : "") + ")";
+            case CHECK_NEIGHBOR:
+            case CHECK_NEIGHBOR_BACKWARD:
+                return "Evaluando vecino " + neighbor.getId() + " desde " + current.getId();
+            case UPDATE_DISTANCE:
+            case UPDATE_DISTANCE_BACKWARD:
+                return "Actualizando distancia de " + neighbor.getId() + " a " + distance;
+            case COMPLETE:
+            default:
+                return "Algoritmo completado. Distancia final: " + distance;
+        }
+    }
+}
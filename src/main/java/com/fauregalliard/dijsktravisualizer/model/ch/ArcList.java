@@ -0,0 +1,50 @@
+package com.fauregalliard.dijsktravisualizer.model.ch;
+
+import java.util.Arrays;
+
+// Lista creciente de arcos (destino, peso, nodo intermedio) sin objetos por arco
+final class ArcList {
+    int[] target = new int[4];
+    int[] weight = new int[4];
+    int[] middle = new int[4];
+    int size;
+
+    int indexOf(int node) {
+        for (int i = 0; i < size; i++) {
+            if (target[i] == node) return i;
+        }
+        return -1;
+    }
+
+    void add(int node, int w, int mid) {
+        if (size == target.length) {
+            target = Arrays.copyOf(target, size * 2);
+            weight = Arrays.copyOf(weight, size * 2);
+            middle = Arrays.copyOf(middle, size * 2);
+        }
+        target[size] = node;
+        weight[size] = w;
+        middle[size] = mid;
+        size++;
+    }
+
+    /** Adds the arc or lowers the weight of an existing one to the same node. */
+    void addOrImprove(int node, int w, int mid) {
+        int i = indexOf(node);
+        if (i < 0) {
+            add(node, w, mid);
+        } else if (w < weight[i]) {
+            weight[i] = w;
+            middle[i] = mid;
+        }
+    }
+
+    void remove(int node) {
+        int i = indexOf(node);
+        if (i < 0) return;
+        size--;
+        target[i] = target[size];
+        weight[i] = weight[size];
+        middle[i] = middle[size];
+    }
+}
@@ -0,0 +1,356 @@
+package com.fauregalliard.dijsktravisualizer.model.ch;
+
+import com.fauregalliard.dijsktravisualizer.model.CompactGraph;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+import com.fauregalliard.dijsktravisualizer.model.frontier.IndexedBinaryHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction Hierarchies over a {@link CompactGraph}. Nodes are contracted one by one in
+ * edge-difference order; whenever the only shortest path between two neighbours goes through the
+ * contracted node, a shortcut is inserted. A query is then a bidirectional Dijkstra that only
+ * climbs towards higher-ranked nodes, and shortcuts are unpacked back into original nodes.
+ *
+ * <p>The index is immutable; rebuild it after the graph is edited.
+ */
+public class ContractionHierarchy {
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int WITNESS_SETTLE_LIMIT = 100;
+
+    private final CompactGraph csr;
+    private final int[] rank;
+    private final int shortcutCount;
+
+    // Arcos u -> w con rank[w] > rank[u], guardados en u
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddle;
+
+    // Arcos u -> w con rank[u] > rank[w], guardados invertidos en w (destino u)
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final int[] downWeights;
+    private final int[] downMiddle;
+
+    private final ThreadLocal<QueryWorkspace> workspace;
+
+    private ContractionHierarchy(CompactGraph csr, int[] rank, int shortcutCount, ArcList[] up, ArcList[] down) {
+        this.csr = csr;
+        this.rank = rank;
+        this.shortcutCount = shortcutCount;
+
+        int n = csr.nodeCount();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] = upOffsets[v] + up[v].size;
+            downOffsets[v + 1] = downOffsets[v] + down[v].size;
+        }
+        upTargets = new int[upOffsets[n]];
+        upWeights = new int[upOffsets[n]];
+        upMiddle = new int[upOffsets[n]];
+        downTargets = new int[downOffsets[n]];
+        downWeights = new int[downOffsets[n]];
+        downMiddle = new int[downOffsets[n]];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            System.arraycopy(up[v].target, 0, upTargets, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].weight, 0, upWeights, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].middle, 0, upMiddle, upOffsets[v], up[v].size);
+            System.arraycopy(down[v].target, 0, downTargets, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].weight, 0, downWeights, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].middle, 0, downMiddle, downOffsets[v], down[v].size);
+        });
+
+        workspace = ThreadLocal.withInitial(() -> new QueryWorkspace(n));
+    }
+
+    public static ContractionHierarchy build(Graph graph) {
+        return build(CompactGraph.of(graph));
+    }
+
+    public static ContractionHierarchy build(CompactGraph csr) {
+        int n = csr.nodeCount();
+        ArcList[] out = new ArcList[n];
+        ArcList[] in = new ArcList[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new ArcList();
+            in[v] = new ArcList();
+        }
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+        for (int u = 0; u < n; u++) {
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                int v = targets[slot];
+                if (v == u) continue;
+                out[u].addOrImprove(v, weights[slot], -1);
+                in[v].addOrImprove(u, weights[slot], -1);
+            }
+        }
+
+        int[] deletedNeighbors = new int[n];
+
+        // Prioridades iniciales: simulaciones independientes de solo lectura, en paralelo
+        ThreadLocal<WitnessSearch> witnesses = ThreadLocal.withInitial(() -> new WitnessSearch(n));
+        int[] initial = new int[n];
+        IntStream.range(0, n).parallel().forEach(v ->
+                initial[v] = priority(v, out, in, deletedNeighbors, witnesses.get()));
+
+        IndexedBinaryHeap order = new IndexedBinaryHeap(n);
+        for (int v = 0; v < n; v++) {
+            order.push(v, initial[v]);
+        }
+
+        WitnessSearch witness = new WitnessSearch(n);
+        int[] rank = new int[n];
+        int nextRank = 0;
+        int shortcuts = 0;
+        List<int[]> pending = new ArrayList<>();
+
+        while (!order.isEmpty()) {
+            int v = order.pop();
+            pending.clear();
+            int needed = findShortcuts(v, out, in, witness, pending);
+            // Actualización perezosa: si la prioridad empeoró, vuelve a la cola
+            int current = needed - out[v].size - in[v].size + deletedNeighbors[v];
+            if (!order.isEmpty() && current > order.peekKey()) {
+                order.push(v, current);
+                continue;
+            }
+
+            for (int[] s : pending) {
+                out[s[0]].addOrImprove(s[1], s[2], v);
+                in[s[1]].addOrImprove(s[0], s[2], v);
+            }
+            shortcuts += pending.size();
+
+            rank[v] = nextRank++;
+            for (int i = 0; i < out[v].size; i++) {
+                int w = out[v].target[i];
+                in[w].remove(v);
+                deletedNeighbors[w]++;
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                int u = in[v].target[i];
+                out[u].remove(v);
+                deletedNeighbors[u]++;
+            }
+        }
+
+        // Las listas de un nodo contraído quedan congeladas: out -> grafo ascendente, in -> descendente
+        return new ContractionHierarchy(csr, rank, shortcuts, out, in);
+    }
+
+    // Diferencia de aristas más vecinos ya contraídos (reparte la contracción uniformemente)
+    private static int priority(int v, ArcList[] out, ArcList[] in, int[] deletedNeighbors, WitnessSearch witness) {
+        int shortcuts = findShortcuts(v, out, in, witness, null);
+        return shortcuts - out[v].size - in[v].size + deletedNeighbors[v];
+    }
+
+    private static int findShortcuts(int v, ArcList[] out, ArcList[] in, WitnessSearch witness, List<int[]> result) {
+        ArcList incoming = in[v];
+        ArcList outgoing = out[v];
+        if (incoming.size == 0 || outgoing.size == 0) return 0;
+
+        int maxOut = 0;
+        for (int j = 0; j < outgoing.size; j++) {
+            maxOut = Math.max(maxOut, outgoing.weight[j]);
+        }
+
+        int count = 0;
+        for (int i = 0; i < incoming.size; i++) {
+            int u = incoming.target[i];
+            int toV = incoming.weight[i];
+            witness.run(out, u, v, toV + maxOut, WITNESS_SETTLE_LIMIT);
+            for (int j = 0; j < outgoing.size; j++) {
+                int w = outgoing.target[j];
+                if (w == u) continue;
+                int via = toV + outgoing.weight[j];
+                if (witness.distance(w) > via) {
+                    count++;
+                    if (result != null) result.add(new int[]{u, w, via});
+                }
+            }
+        }
+        return count;
+    }
+
+    public CompactGraph getGraph() { return csr; }
+
+    public int getShortcutCount() { return shortcutCount; }
+
+    public int rank(Node node) {
+        return rank[csr.indexOf(node)];
+    }
+
+    public PathResult calculateShortestPath(Node start, Node end) {
+        int s = csr.indexOf(start);
+        int t = csr.indexOf(end);
+        List<Node> path = new ArrayList<>();
+        if (s < 0 || t < 0) {
+            path.add(end);
+            return new PathResult(INF, path, 0);
+        }
+
+        QueryWorkspace ws = workspace.get();
+        ws.reset();
+        int meeting = ws.search(this, s, t);
+        if (meeting < 0) {
+            path.add(end);
+            return new PathResult(INF, path, ws.settled);
+        }
+
+        // Tramo ascendente desde el origen, de atrás hacia delante
+        List<Node> forwardPart = new ArrayList<>();
+        for (int at = meeting; at != s; at = ws.parentF[at]) {
+            int slot = ws.slotF[at];
+            unpack(ws.parentF[at], at, upMiddle[slot], forwardPart, true);
+        }
+        Collections.reverse(forwardPart);
+        path.add(start);
+        path.addAll(forwardPart);
+
+        // Tramo descendente hasta el destino
+        for (int at = meeting; at != t; at = ws.parentB[at]) {
+            int slot = ws.slotB[at];
+            unpack(at, ws.parentB[at], downMiddle[slot], path, false);
+        }
+        return new PathResult(ws.best, path, ws.settled);
+    }
+
+    /**
+     * Expands arc {@code from -> to} into original nodes (excluding {@code from}, including {@code to}).
+     * With {@code reversed} they are appended back to front, for paths assembled from the end.
+     */
+    private void unpack(int from, int to, int middle, List<Node> out, boolean reversed) {
+        int[] stack = new int[16 * 3];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+        stack[top++] = middle;
+        while (top > 0) {
+            int mid = stack[--top];
+            int b = stack[--top];
+            int a = stack[--top];
+            if (mid < 0) {
+                out.add(csr.node(b));
+                continue;
+            }
+            if (top + 6 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            // a -> mid está en la lista descendente de mid; mid -> b en su lista ascendente
+            int first = middleOf(downOffsets, downTargets, downMiddle, mid, a);
+            int second = middleOf(upOffsets, upTargets, upMiddle, mid, b);
+            if (reversed) {
+                stack[top++] = a; stack[top++] = mid; stack[top++] = first;
+                stack[top++] = mid; stack[top++] = b; stack[top++] = second;
+            } else {
+                stack[top++] = mid; stack[top++] = b; stack[top++] = second;
+                stack[top++] = a; stack[top++] = mid; stack[top++] = first;
+            }
+        }
+    }
+
+    private static int middleOf(int[] offsets, int[] targets, int[] middle, int node, int target) {
+        for (int slot = offsets[node]; slot < offsets[node + 1]; slot++) {
+            if (targets[slot] == target) return middle[slot];
+        }
+        throw new IllegalStateException("Missing arc while unpacking shortcut at node " + node);
+    }
+
+    private static final class QueryWorkspace {
+        final int[] distF;
+        final int[] distB;
+        final int[] parentF;
+        final int[] parentB;
+        final int[] slotF;
+        final int[] slotB;
+        final int[] touched;
+        final IndexedBinaryHeap forward;
+        final IndexedBinaryHeap backward;
+        int touchedCount;
+        int best;
+        int settled;
+
+        QueryWorkspace(int n) {
+            distF = new int[n];
+            distB = new int[n];
+            parentF = new int[n];
+            parentB = new int[n];
+            slotF = new int[n];
+            slotB = new int[n];
+            touched = new int[2 * n];
+            forward = new IndexedBinaryHeap(n);
+            backward = new IndexedBinaryHeap(n);
+            Arrays.fill(distF, INF);
+            Arrays.fill(distB, INF);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distF[touched[i]] = INF;
+                distB[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            forward.clear();
+            backward.clear();
+            best = INF;
+            settled = 0;
+        }
+
+        int search(ContractionHierarchy ch, int s, int t) {
+            distF[s] = 0;
+            distB[t] = 0;
+            touched[touchedCount++] = s;
+            touched[touchedCount++] = t;
+            forward.push(s, 0);
+            backward.push(t, 0);
+            int meeting = -1;
+
+            while (true) {
+                // Cada lado se detiene cuando su mínimo ya no puede mejorar el mejor encuentro
+                if (!forward.isEmpty() && forward.peekKey() >= best) forward.clear();
+                if (!backward.isEmpty() && backward.peekKey() >= best) backward.clear();
+                if (forward.isEmpty() && backward.isEmpty()) break;
+
+                boolean isForward = backward.isEmpty()
+                        || (!forward.isEmpty() && forward.peekKey() <= backward.peekKey());
+                IndexedBinaryHeap heap = isForward ? forward : backward;
+                int[] dist = isForward ? distF : distB;
+                int[] other = isForward ? distB : distF;
+                int[] parent = isForward ? parentF : parentB;
+                int[] parentSlot = isForward ? slotF : slotB;
+                int[] offsets = isForward ? ch.upOffsets : ch.downOffsets;
+                int[] targets = isForward ? ch.upTargets : ch.downTargets;
+                int[] weights = isForward ? ch.upWeights : ch.downWeights;
+
+                int u = heap.pop();
+                settled++;
+                if (other[u] != INF && dist[u] + other[u] < best) {
+                    best = dist[u] + other[u];
+                    meeting = u;
+                }
+
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int v = targets[slot];
+                    int d = dist[u] + weights[slot];
+                    if (d < dist[v]) {
+                        if (distF[v] == INF && distB[v] == INF) touched[touchedCount++] = v;
+                        dist[v] = d;
+                        parent[v] = u;
+                        parentSlot[v] = slot;
+                        heap.push(v, d);
+                    }
+                }
+            }
+            return meeting;
+        }
+    }
+}
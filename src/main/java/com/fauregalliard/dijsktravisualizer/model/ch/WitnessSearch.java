@@ -0,0 +1,56 @@
+package com.fauregalliard.dijsktravisualizer.model.ch;
+
+import com.fauregalliard.dijsktravisualizer.model.frontier.IndexedBinaryHeap;
+
+import java.util.Arrays;
+
+// Dijkstra local y acotado que busca caminos alternativos que eviten al nodo que se contrae
+final class WitnessSearch {
+    static final int INF = Integer.MAX_VALUE;
+
+    private final int[] dist;
+    private final int[] touched;
+    private int touchedCount;
+    private final IndexedBinaryHeap heap;
+
+    WitnessSearch(int n) {
+        dist = new int[n];
+        touched = new int[n];
+        heap = new IndexedBinaryHeap(n);
+        Arrays.fill(dist, INF);
+    }
+
+    int distance(int node) {
+        return dist[node];
+    }
+
+    void run(ArcList[] out, int source, int excluded, int maxDist, int settleLimit) {
+        for (int i = 0; i < touchedCount; i++) {
+            dist[touched[i]] = INF;
+        }
+        touchedCount = 0;
+        heap.clear();
+
+        dist[source] = 0;
+        touched[touchedCount++] = source;
+        heap.push(source, 0);
+        int settled = 0;
+
+        while (!heap.isEmpty() && settled < settleLimit) {
+            if (heap.peekKey() > maxDist) break;
+            int u = heap.pop();
+            settled++;
+            ArcList arcs = out[u];
+            for (int i = 0; i < arcs.size; i++) {
+                int v = arcs.target[i];
+                if (v == excluded) continue;
+                int d = dist[u] + arcs.weight[i];
+                if (d < dist[v]) {
+                    if (dist[v] == INF) touched[touchedCount++] = v;
+                    dist[v] = d;
+                    heap.push(v, d);
+                }
+            }
+        }
+    }
+}
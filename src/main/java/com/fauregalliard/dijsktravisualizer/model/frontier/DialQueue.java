@@ -0,0 +1,116 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Dial's circular bucket queue. Valid only for monotone use (every pushed key lies in
+ * {@code [lastPopped, lastPopped + maxWeight]}), which is exactly what Dijkstra with integer
+ * weights in {@code 0..maxWeight} produces. With {@code maxWeight + 1} buckets every bucket holds
+ * a single key value, so push/decrease-key are O(1) and pops are amortised over the distance range.
+ * A key outside that window would share a bucket with another key value, so {@link #push} rejects it.
+ */
+public class DialQueue implements Frontier {
+    private static final int NONE = -1;
+
+    private final int[] head;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] keys;
+    private final boolean[] queued;
+    private int current;
+    private int size;
+
+    public DialQueue(int capacity, int maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Weights must be non-negative: " + maxWeight);
+        }
+        head = new int[maxWeight + 1];
+        next = new int[capacity];
+        prev = new int[capacity];
+        keys = new int[capacity];
+        queued = new boolean[capacity];
+        Arrays.fill(head, NONE);
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean contains(int node) { return queued[node]; }
+
+    /** @throws IllegalArgumentException if {@code key} is outside {@code [lastPopped, lastPopped + maxWeight]} */
+    @Override
+    public void push(int node, int key) {
+        if (key < current || key - current >= head.length) {
+            throw new IllegalArgumentException("Key " + key + " outside the bucket window starting at " + current);
+        }
+        if (queued[node]) {
+            if (key >= keys[node]) return;
+            unlink(node);
+        } else {
+            queued[node] = true;
+            size++;
+        }
+        keys[node] = key;
+        link(node, key % head.length);
+    }
+
+    @Override
+    public int pop() {
+        advance();
+        int node = head[current % head.length];
+        unlink(node);
+        queued[node] = false;
+        size--;
+        return node;
+    }
+
+    @Override
+    public int peekKey() {
+        advance();
+        return current;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < head.length && size > 0; b++) {
+            for (int node = head[b]; node != NONE; node = next[node]) {
+                queued[node] = false;
+                size--;
+            }
+            head[b] = NONE;
+        }
+        size = 0;
+        current = 0;
+    }
+
+    // Con la cola vacía el bucle no acabaría nunca
+    private void advance() {
+        if (size == 0) {
+            throw new NoSuchElementException("Frontier is empty");
+        }
+        while (head[current % head.length] == NONE) {
+            current++;
+        }
+    }
+
+    private void link(int node, int bucket) {
+        int first = head[bucket];
+        prev[node] = NONE;
+        next[node] = first;
+        if (first != NONE) prev[first] = node;
+        head[bucket] = node;
+    }
+
+    private void unlink(int node) {
+        int p = prev[node];
+        int n = next[node];
+        if (p != NONE) next[p] = n;
+        else head[keys[node] % head.length] = n;
+        if (n != NONE) prev[n] = p;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+/**
+ * Priority queue of dense node indexes keyed by an int distance.
+ * Each node is queued at most once; pushing a queued node with a smaller key is a decrease-key.
+ */
+public interface Frontier {
+
+    boolean isEmpty();
+
+    int size();
+
+    boolean contains(int node);
+
+    /** Inserts {@code node}, or lowers its key if it is already queued with a larger one. */
+    void push(int node, int key);
+
+    /** Removes and returns the node with the smallest key. */
+    int pop();
+
+    /** Smallest key currently queued; undefined when empty. */
+    int peekKey();
+
+    void clear();
+}
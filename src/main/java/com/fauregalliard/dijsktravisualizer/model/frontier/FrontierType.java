@@ -0,0 +1,47 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+public enum FrontierType {
+    BINARY_HEAP {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return new IndexedBinaryHeap(capacity);
+        }
+    },
+    QUATERNARY_HEAP {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return new IndexedDaryHeap(capacity, 4);
+        }
+    },
+    OCTONARY_HEAP {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return new IndexedDaryHeap(capacity, 8);
+        }
+    },
+    DIAL {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return new DialQueue(capacity, maxWeight);
+        }
+    },
+    RADIX_HEAP {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return new RadixHeap(capacity);
+        }
+    },
+    /** Dial's buckets when the weight range is small, otherwise a radix heap. */
+    AUTO {
+        @Override
+        public Frontier create(int capacity, int maxWeight) {
+            return maxWeight <= DIAL_MAX_WEIGHT ? DIAL.create(capacity, maxWeight) : RADIX_HEAP.create(capacity, maxWeight);
+        }
+    };
+
+    // Cubre los rangos del editor (1..100) y del generador aleatorio (1..200)
+    public static final int DIAL_MAX_WEIGHT = 1024;
+
+    /** Creates a frontier for node indexes {@code 0..capacity-1} and edge weights up to {@code maxWeight}. */
+    public abstract Frontier create(int capacity, int maxWeight);
+}
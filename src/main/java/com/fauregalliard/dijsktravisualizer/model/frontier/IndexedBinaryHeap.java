@@ -0,0 +1,97 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+import java.util.Arrays;
+
+public class IndexedBinaryHeap implements Frontier {
+    private final int[] heap;
+    private final int[] pos;
+    private final int[] keys;
+    private int size;
+
+    public IndexedBinaryHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean contains(int node) { return pos[node] >= 0; }
+
+    @Override
+    public void push(int node, int key) {
+        int i = pos[node];
+        if (i < 0) {
+            i = size++;
+            heap[i] = node;
+            pos[node] = i;
+        } else if (key >= keys[node]) {
+            return;
+        }
+        keys[node] = key;
+        siftUp(i);
+    }
+
+    @Override
+    public int pop() {
+        int top = heap[0];
+        pos[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    @Override
+    public int peekKey() { return keys[heap[0]]; }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        int key = keys[node];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] <= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        pos[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        int key = keys[node];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            int c = heap[child];
+            if (keys[c] >= key) break;
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = node;
+        pos[node] = i;
+    }
+}
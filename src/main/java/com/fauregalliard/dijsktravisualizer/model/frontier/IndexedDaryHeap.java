@@ -0,0 +1,117 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+import java.util.Arrays;
+
+/**
+ * Indexed heap with {@code arity} children per slot. A wider heap is shallower, so decrease-key
+ * (the common operation in Dijkstra on dense graphs) does fewer swaps at the cost of more
+ * comparisons per pop.
+ */
+public class IndexedDaryHeap implements Frontier {
+    private final int arity;
+    private final int[] heap;
+    private final int[] pos;
+    private final int[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int getArity() { return arity; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean contains(int node) { return pos[node] >= 0; }
+
+    @Override
+    public void push(int node, int key) {
+        int i = pos[node];
+        if (i < 0) {
+            i = size++;
+            heap[i] = node;
+            pos[node] = i;
+        } else if (key >= keys[node]) {
+            return;
+        }
+        keys[node] = key;
+        siftUp(i);
+    }
+
+    @Override
+    public int pop() {
+        int top = heap[0];
+        pos[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    @Override
+    public int peekKey() { return keys[heap[0]]; }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        int key = keys[node];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int p = heap[parent];
+            if (keys[p] <= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        pos[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        int key = keys[node];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                int k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) break;
+            int c = heap[best];
+            heap[i] = c;
+            pos[c] = i;
+            i = best;
+        }
+        heap[i] = node;
+        pos[node] = i;
+    }
+}
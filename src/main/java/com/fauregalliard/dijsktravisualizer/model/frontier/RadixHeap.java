@@ -0,0 +1,122 @@
+package com.fauregalliard.dijsktravisualizer.model.frontier;
+
+import java.util.Arrays;
+
+/**
+ * Monotone radix heap over non-negative int keys. Bucket {@code i > 0} holds the keys whose
+ * highest bit differing from the last popped key is bit {@code i - 1}; a node only ever moves to
+ * a lower bucket, so each one is redistributed at most 32 times. Unlike {@link DialQueue} the
+ * memory does not depend on the weight range.
+ */
+public class RadixHeap implements Frontier {
+    private static final int NONE = -1;
+    private static final int BUCKETS = 33;
+
+    private final int[] head = new int[BUCKETS];
+    private final int[] next;
+    private final int[] prev;
+    private final int[] keys;
+    private final int[] bucketOf;
+    private int last;
+    private int size;
+
+    public RadixHeap(int capacity) {
+        next = new int[capacity];
+        prev = new int[capacity];
+        keys = new int[capacity];
+        bucketOf = new int[capacity];
+        Arrays.fill(head, NONE);
+        Arrays.fill(bucketOf, NONE);
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean contains(int node) { return bucketOf[node] != NONE; }
+
+    @Override
+    public void push(int node, int key) {
+        if (bucketOf[node] != NONE) {
+            if (key >= keys[node]) return;
+            unlink(node);
+        } else {
+            size++;
+        }
+        keys[node] = key;
+        link(node, bucketFor(key));
+    }
+
+    @Override
+    public int pop() {
+        normalize();
+        int node = head[0];
+        unlink(node);
+        bucketOf[node] = NONE;
+        size--;
+        return node;
+    }
+
+    @Override
+    public int peekKey() {
+        normalize();
+        return last;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int node = head[b]; node != NONE; node = next[node]) {
+                bucketOf[node] = NONE;
+            }
+            head[b] = NONE;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    private int bucketFor(int key) {
+        return key == last ? 0 : 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    // Vacía el primer cubo no vacío en cubos inferiores tomando su mínimo como nueva referencia
+    private void normalize() {
+        if (head[0] != NONE) return;
+        int b = 1;
+        while (head[b] == NONE) b++;
+
+        int min = Integer.MAX_VALUE;
+        for (int node = head[b]; node != NONE; node = next[node]) {
+            if (keys[node] < min) min = keys[node];
+        }
+        last = min;
+
+        int node = head[b];
+        head[b] = NONE;
+        while (node != NONE) {
+            int following = next[node];
+            link(node, bucketFor(keys[node]));
+            node = following;
+        }
+    }
+
+    private void link(int node, int bucket) {
+        int first = head[bucket];
+        prev[node] = NONE;
+        next[node] = first;
+        if (first != NONE) prev[first] = node;
+        head[bucket] = node;
+        bucketOf[node] = bucket;
+    }
+
+    private void unlink(int node) {
+        int p = prev[node];
+        int n = next[node];
+        if (p != NONE) next[p] = n;
+        else head[bucketOf[node]] = n;
+        if (n != NONE) prev[n] = p;
+    }
+}
@@ -0,0 +1,248 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Whitespace-separated integer tokenizer over a reusable byte buffer. Numbers are parsed digit by
+ * digit without creating strings; line numbers are tracked for error messages. Lines whose first
+ * token starts with one of the comment characters are skipped.
+ */
+final class ByteTokenizer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Ventana de mapeo: se avanza por el fichero sin mapear más de esto a la vez
+    private static final long MAP_WINDOW = 1L << 26;
+
+    interface Source extends AutoCloseable {
+        /** Fills {@code buffer} from the start; returns the number of bytes read or -1 at the end. */
+        int fill(byte[] buffer) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final Source source;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long line = 1;
+    private long tokenLine;
+    private final boolean[] comment = new boolean[256];
+
+    ByteTokenizer(Source source) {
+        this.source = source;
+    }
+
+    static ByteTokenizer of(InputStream in) {
+        return new ByteTokenizer(new Source() {
+            @Override
+            public int fill(byte[] buffer) throws IOException {
+                return in.read(buffer, 0, buffer.length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        });
+    }
+
+    static ByteTokenizer of(Reader reader) {
+        char[] chars = new char[BUFFER_SIZE];
+        return new ByteTokenizer(new Source() {
+            @Override
+            public int fill(byte[] buffer) throws IOException {
+                int read = reader.read(chars, 0, Math.min(chars.length, buffer.length));
+                // Todo lo que no es ASCII es inválido en estos formatos: se marca con 0xFF
+                for (int i = 0; i < read; i++) {
+                    buffer[i] = chars[i] < 128 ? (byte) chars[i] : (byte) 0xFF;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        });
+    }
+
+    /** Reads the remaining bytes of {@code data} (typically one mapped chunk of a larger file). */
+    static ByteTokenizer of(ByteBuffer data) {
+        return new ByteTokenizer(new Source() {
+            @Override
+            public int fill(byte[] buffer) {
+                if (!data.hasRemaining()) return -1;
+                int n = Math.min(buffer.length, data.remaining());
+                data.get(buffer, 0, n);
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    static ByteTokenizer ofMapped(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        long size = channel.size();
+        return new ByteTokenizer(new Source() {
+            private long mapped;
+            private ByteBuffer window = ByteBuffer.allocate(0);
+
+            @Override
+            public int fill(byte[] buffer) throws IOException {
+                if (!window.hasRemaining()) {
+                    if (mapped >= size) return -1;
+                    long length = Math.min(MAP_WINDOW, size - mapped);
+                    MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+                    mapped += length;
+                    window = map;
+                }
+                int n = Math.min(buffer.length, window.remaining());
+                window.get(buffer, 0, n);
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        });
+    }
+
+    void setCommentPrefixes(String prefixes) {
+        for (int i = 0; i < prefixes.length(); i++) {
+            comment[prefixes.charAt(i)] = true;
+        }
+    }
+
+    long line() { return line; }
+
+    /** Line on which the last token returned by {@link #nextLong} started. */
+    long tokenLine() { return tokenLine; }
+
+    /** Skips whitespace (and comment lines); {@code false} once the input is exhausted. */
+    boolean hasNext() throws IOException {
+        while (true) {
+            if (pos == limit && !refill()) return false;
+            int c = buffer[pos] & 0xFF;
+            if (c == '\n') {
+                line++;
+                pos++;
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                pos++;
+            } else if (comment[c] && tokenLine != line) {
+                skipLine();
+            } else {
+                return true;
+            }
+        }
+    }
+
+    /** Whether another token follows on {@code expectedLine}. */
+    boolean hasNextOnLine(long expectedLine) throws IOException {
+        return hasNext() && line == expectedLine;
+    }
+
+    /** Peeks the first byte of the next token; call only after {@link #hasNext()} returned true. */
+    int peek() {
+        return buffer[pos] & 0xFF;
+    }
+
+    /** Skips the rest of the current line, including its line break. */
+    void skipLine() throws IOException {
+        while (pos < limit || refill()) {
+            if (buffer[pos++] == '\n') {
+                line++;
+                return;
+            }
+        }
+    }
+
+    /** Skips one token of any content. */
+    void skipToken() throws IOException {
+        if (!hasNext()) return;
+        tokenLine = line;
+        while (pos < limit || refill()) {
+            int c = buffer[pos] & 0xFF;
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') return;
+            pos++;
+        }
+    }
+
+    long nextLong(String what) throws IOException {
+        if (!hasNext()) {
+            throw new GraphFormatException(line, "Expected " + what + " but the input ended");
+        }
+        tokenLine = line;
+        boolean negative = false;
+        if (buffer[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < limit || refill()) {
+            int c = buffer[pos] & 0xFF;
+            if (c >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    throw new GraphFormatException(line, what + " is too large");
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                pos++;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                break;
+            } else {
+                throw new GraphFormatException(line, "Unexpected character '" + printable(c) + "' in " + what);
+            }
+        }
+        if (digits == 0) {
+            throw new GraphFormatException(line, "Expected " + what);
+        }
+        return negative ? -value : value;
+    }
+
+    int nextInt(String what, int min, int max) throws IOException {
+        long value = nextLong(what);
+        if (value < min || value > max) {
+            throw new GraphFormatException(tokenLine, what + " " + value + " is out of range [" + min + ", " + max + "]");
+        }
+        return (int) value;
+    }
+
+    /** Like {@link #nextInt} but the token must be on {@code expectedLine}. */
+    int nextIntOnLine(long expectedLine, String what, int min, int max) throws IOException {
+        if (!hasNext() || line != expectedLine) {
+            throw new GraphFormatException(expectedLine, "Missing " + what);
+        }
+        return nextInt(what, min, max);
+    }
+
+    private boolean refill() throws IOException {
+        int read;
+        do {
+            read = source.fill(buffer);
+        } while (read == 0);
+        pos = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private static String printable(int c) {
+        return c >= 32 && c < 127 ? String.valueOf((char) c) : String.format("\\x%02X", c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
@@ -0,0 +1,90 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the competitive-programming format used by the input screen: a first line {@code n e},
+ * then {@code e} lines {@code from to weight} with 1-based node ids. Weights are bounded so that no
+ * path length overflows an {@code int}. Errors are reported as {@link GraphFormatException} with the
+ * offending line.
+ */
+public class CompetitiveFormatParser {
+    // Por debajo de este tamaño leer por flujo es tan rápido como mapear el fichero
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private CompetitiveFormatParser() {
+    }
+
+    public static ParsedGraph parse(String text) {
+        try {
+            return parse(new StringReader(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ParsedGraph parse(Reader reader) throws IOException {
+        try (ByteTokenizer tokenizer = ByteTokenizer.of(reader)) {
+            return parse(tokenizer);
+        }
+    }
+
+    public static ParsedGraph parse(InputStream in) throws IOException {
+        try (ByteTokenizer tokenizer = ByteTokenizer.of(in)) {
+            return parse(tokenizer);
+        }
+    }
+
+    /** Large files are memory-mapped; small ones are streamed. */
+    public static ParsedGraph parse(Path path) throws IOException {
+        if (Files.size(path) < MAP_THRESHOLD) {
+            return parse(Files.newInputStream(path));
+        }
+        try (ByteTokenizer tokenizer = ByteTokenizer.ofMapped(path)) {
+            return parse(tokenizer);
+        }
+    }
+
+    private static ParsedGraph parse(ByteTokenizer in) throws IOException {
+        if (!in.hasNext()) {
+            throw new GraphFormatException(in.line(), "Empty input: expected 'n e'");
+        }
+        int n = in.nextInt("node count", 0, Integer.MAX_VALUE - 8);
+        long header = in.tokenLine();
+        int e = in.nextIntOnLine(header, "edge count", 0, Integer.MAX_VALUE - 8);
+
+        // Un camino tiene como mucho n - 1 aristas, y relajar una más no debe desbordar un int
+        int maxWeight = Math.min(Integer.MAX_VALUE / 2, (Integer.MAX_VALUE - 1) / Math.max(1, n));
+
+        ParsedGraph graph = new ParsedGraph(n, e);
+        long previous = header;
+        for (int k = 0; k < e; k++) {
+            if (!in.hasNext()) {
+                throw new GraphFormatException(in.line(), "Expected " + e + " edges but found " + k);
+            }
+            if (in.line() == previous) {
+                throw new GraphFormatException(previous, "Too many values on this line");
+            }
+            int u = in.nextInt("source node", 1, n);
+            long line = in.tokenLine();
+            int v = in.nextIntOnLine(line, "target node", 1, n);
+            int w = in.nextIntOnLine(line, "weight", 0, Integer.MAX_VALUE / 2);
+            if (w > maxWeight) {
+                throw new GraphFormatException(line, "Weight " + w + " is too large for " + n
+                        + " nodes: path lengths could overflow (at most " + maxWeight + ")");
+            }
+            graph.add(u - 1, v - 1, w);
+            previous = line;
+        }
+        if (in.hasNext()) {
+            throw new GraphFormatException(in.line(), "Unexpected data after the last of " + e + " edges");
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,339 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Imports large graph files. The file is memory-mapped, cut into chunks that end on line
+ * boundaries, and the chunks are parsed in parallel; the per-chunk edge arrays are then
+ * concatenated in file order. Supported formats:
+ * <ul>
+ *   <li>{@link Format#DIMACS}: the 9th DIMACS challenge {@code .gr} format
+ *       ({@code c} comments, one {@code p sp n m} line, {@code a u v w} arcs).</li>
+ *   <li>{@link Format#EDGE_LIST}: one {@code u v [w]} edge per line, weight 1 when omitted,
+ *       {@code #} or {@code %} comments. Ids may be 0- or 1-based.</li>
+ * </ul>
+ */
+public class GraphFileImporter {
+    // Trozos de tamaño parecido; varios por hilo para repartir bien la carga
+    private static final long MIN_CHUNK = 1 << 20;
+    private static final long MAX_CHUNK = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    public enum Format {
+        DIMACS("DIMACS (.gr)"),
+        EDGE_LIST("Edge list");
+
+        private final String label;
+
+        Format(String label) {
+            this.label = label;
+        }
+
+        /** {@code .gr} files are DIMACS; anything else is read as an edge list. */
+        public static Format detect(Path path) {
+            return path.getFileName().toString().toLowerCase().endsWith(".gr") ? DIMACS : EDGE_LIST;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public static class Result {
+        private final ParsedGraph graph;
+        private final long bytes;
+        private final long nanos;
+
+        Result(ParsedGraph graph, long bytes, long nanos) {
+            this.graph = graph;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        public ParsedGraph getGraph() { return graph; }
+        public long getBytes() { return bytes; }
+        public long getNanos() { return nanos; }
+
+        public double getMegabytesPerSecond() {
+            return nanos == 0 ? 0 : (bytes / 1e6) / (nanos / 1e9);
+        }
+    }
+
+    private GraphFileImporter() {
+    }
+
+    public static Result load(Path path) throws IOException {
+        return load(path, Format.detect(path), ForkJoinPool.commonPool());
+    }
+
+    public static Result load(Path path, Format format, ForkJoinPool pool) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size, pool.getParallelism());
+            int chunks = bounds.length - 1;
+
+            Chunk[] parsed = new Chunk[chunks];
+            try {
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c ->
+                        parsed[c] = parseChunk(channel, bounds[c], bounds[c + 1], format))).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw new IllegalStateException("Import failed", e.getCause());
+            }
+
+            ParsedGraph graph = merge(parsed, format);
+            return new Result(graph, size, System.nanoTime() - start);
+        }
+    }
+
+    // Cortes a ~size/k, adelantados hasta justo después del siguiente salto de línea
+    private static long[] chunkBounds(FileChannel channel, long size, int threads) throws IOException {
+        long target = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / Math.max(1, threads * CHUNKS_PER_THREAD)));
+        int chunks = (int) Math.max(1, (size + target - 1) / target);
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        int count = 1;
+        for (int c = 1; c < chunks; c++) {
+            long at = Math.max(bounds[count - 1], c * target);
+            long cut = -1;
+            while (cut < 0 && at < size) {
+                probe.clear();
+                int read = channel.read(probe, at);
+                if (read <= 0) break;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        cut = at + i + 1;
+                        break;
+                    }
+                }
+                at += read;
+            }
+            if (cut < 0 || cut >= size) break;
+            if (cut > bounds[count - 1]) bounds[count++] = cut;
+        }
+        bounds[count] = size;
+        long[] result = new long[count + 1];
+        System.arraycopy(bounds, 0, result, 0, count + 1);
+        return result;
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long from, long to, Format format) {
+        Chunk chunk = new Chunk();
+        try {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            ByteTokenizer in = ByteTokenizer.of(data);
+            if (format == Format.DIMACS) {
+                parseDimacs(in, chunk);
+            } else {
+                parseEdgeList(in, chunk);
+            }
+            chunk.lines = in.line() - 1;
+        } catch (GraphFormatException e) {
+            chunk.error = e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    private static void parseDimacs(ByteTokenizer in, Chunk chunk) throws IOException {
+        in.setCommentPrefixes("c");
+        while (in.hasNext()) {
+            int kind = in.peek();
+            long line = in.line();
+            if (kind == 'a') {
+                in.skipToken();
+                long u = requireOnLine(in, line, "arc source");
+                long v = requireOnLine(in, line, "arc target");
+                long w = requireOnLine(in, line, "arc weight");
+                if (in.hasNextOnLine(line)) {
+                    throw new GraphFormatException(line, "Too many values on this line");
+                }
+                chunk.add(u, v, w, line);
+            } else if (kind == 'p') {
+                in.skipToken();
+                in.skipToken(); // "sp"
+                long n = requireOnLine(in, line, "node count");
+                long m = requireOnLine(in, line, "arc count");
+                if (chunk.headerLine > 0) {
+                    throw new GraphFormatException(line, "Duplicate problem line");
+                }
+                chunk.headerLine = line;
+                chunk.declaredNodes = n;
+                chunk.declaredEdges = m;
+            } else {
+                throw new GraphFormatException(line, "Unknown line type '" + (char) kind + "'");
+            }
+        }
+    }
+
+    private static void parseEdgeList(ByteTokenizer in, Chunk chunk) throws IOException {
+        in.setCommentPrefixes("#%");
+        while (in.hasNext()) {
+            long line = in.line();
+            long u = in.nextLong("source node");
+            long v = requireOnLine(in, line, "target node");
+            long w = in.hasNextOnLine(line) ? in.nextLong("weight") : 1;
+            if (in.hasNextOnLine(line)) {
+                throw new GraphFormatException(line, "Too many values on this line");
+            }
+            chunk.add(u, v, w, line);
+        }
+    }
+
+    private static long requireOnLine(ByteTokenizer in, long line, String what) throws IOException {
+        if (!in.hasNextOnLine(line)) {
+            throw new GraphFormatException(line, "Missing " + what);
+        }
+        return in.nextLong(what);
+    }
+
+    private static ParsedGraph merge(Chunk[] chunks, Format format) {
+        // Números de línea absolutos: cada trozo empieza donde terminó el anterior
+        long[] firstLine = new long[chunks.length];
+        long lines = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            firstLine[c] = lines;
+            if (chunks[c].error != null) {
+                GraphFormatException e = chunks[c].error;
+                throw new GraphFormatException(lines + e.getLine(), e.getDetail());
+            }
+            lines += chunks[c].lines;
+        }
+
+        long edges = 0;
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        Chunk header = null;
+        for (int c = 0; c < chunks.length; c++) {
+            Chunk chunk = chunks[c];
+            edges += chunk.size;
+            if (chunk.size > 0) {
+                minId = Math.min(minId, chunk.minId);
+                maxId = Math.max(maxId, chunk.maxId);
+            }
+            if (chunk.headerLine > 0) {
+                if (header != null) {
+                    throw new GraphFormatException(firstLine[c] + chunk.headerLine, "Duplicate problem line");
+                }
+                header = chunk;
+            }
+            if (chunk.negativeLine > 0) {
+                throw new GraphFormatException(firstLine[c] + chunk.negativeLine, "Negative values are not allowed");
+            }
+        }
+        if (edges > Integer.MAX_VALUE - 8) {
+            throw new GraphFormatException(lines, "Too many edges: " + edges);
+        }
+
+        long base;
+        long nodeCount;
+        if (format == Format.DIMACS) {
+            if (header == null) {
+                throw new GraphFormatException(1, "Missing problem line 'p sp n m'");
+            }
+            base = 1;
+            nodeCount = header.declaredNodes;
+            if (header.declaredEdges != edges) {
+                throw new GraphFormatException(lines, "Problem line declares " + header.declaredEdges
+                        + " arcs but the file has " + edges);
+            }
+        } else {
+            base = edges > 0 && minId == 0 ? 0 : 1;
+            nodeCount = edges == 0 ? 0 : maxId - base + 1;
+        }
+        if (edges > 0 && (minId < base || maxId - base >= nodeCount)) {
+            long bad = minId < base ? minId : maxId;
+            for (int c = 0; c < chunks.length; c++) {
+                if (chunks[c].size > 0 && (chunks[c].minId == bad || chunks[c].maxId == bad)) {
+                    long line = chunks[c].minId == bad ? chunks[c].minLine : chunks[c].maxLine;
+                    throw new GraphFormatException(firstLine[c] + line,
+                            "Node " + bad + " is outside 1.." + nodeCount);
+                }
+            }
+        }
+        if (nodeCount > Integer.MAX_VALUE - 8) {
+            throw new GraphFormatException(1, "Too many nodes: " + nodeCount);
+        }
+
+        int m = (int) edges;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int[] offset = new int[chunks.length + 1];
+        for (int c = 0; c < chunks.length; c++) {
+            offset[c + 1] = offset[c] + chunks[c].size;
+        }
+        int shift = (int) base;
+        IntStream.range(0, chunks.length).parallel().forEach(c -> {
+            Chunk chunk = chunks[c];
+            int at = offset[c];
+            for (int i = 0; i < chunk.size; i++) {
+                from[at + i] = chunk.from[i] - shift;
+                to[at + i] = chunk.to[i] - shift;
+                weight[at + i] = chunk.weight[i];
+            }
+        });
+        return new ParsedGraph((int) nodeCount, from, to, weight);
+    }
+
+    private static final class Chunk {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        int[] weight = new int[1024];
+        int size;
+        long lines;
+        long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+        long minLine, maxLine;
+        long negativeLine;
+        long headerLine;
+        long declaredNodes, declaredEdges;
+        GraphFormatException error;
+
+        void add(long u, long v, long w, long line) {
+            if (u < 0 || v < 0 || w < 0) {
+                if (negativeLine == 0) negativeLine = line;
+                return;
+            }
+            if (u > Integer.MAX_VALUE || v > Integer.MAX_VALUE || w > Integer.MAX_VALUE / 2) {
+                throw new GraphFormatException(line, "Value too large");
+            }
+            long lo = Math.min(u, v);
+            long hi = Math.max(u, v);
+            if (lo < minId) {
+                minId = lo;
+                minLine = line;
+            }
+            if (hi > maxId) {
+                maxId = hi;
+                maxLine = line;
+            }
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            from[size] = (int) u;
+            to[size] = (int) v;
+            weight[size] = (int) w;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+/**
+ * Malformed graph input. The message already starts with the 1-based line number; {@link #getLine()}
+ * returns it for callers that want to highlight the offending line.
+ */
+public class GraphFormatException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+    private final String detail;
+
+    public GraphFormatException(long line, String message) {
+        super("Line " + line + ": " + message);
+        this.line = line;
+        this.detail = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /** The message without the line prefix. */
+    public String getDetail() {
+        return detail;
+    }
+}
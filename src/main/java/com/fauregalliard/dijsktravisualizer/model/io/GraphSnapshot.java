@@ -0,0 +1,284 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+import com.fauregalliard.dijsktravisualizer.model.CompactGraph;
+import com.fauregalliard.dijsktravisualizer.model.GeometricAStar;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Versioned binary snapshot of a graph in CSR form, optionally with a 2D layout. All values are
+ * little-endian:
+ * <pre>
+ *   int magic 'DVGS', int version, int flags, int nodeCount, int edgeCount, int reserved
+ *   int nodeIds[n], int offsets[n+1], int targets[m], int weights[m]
+ *   padding to 8 bytes, then if flags has COORDINATES: double x[n], double y[n]
+ * </pre>
+ * Writing goes through a {@link FileChannel}; {@link #open(Path)} maps the file and exposes each
+ * section as a buffer view over the mapping, without copying.
+ */
+public class GraphSnapshot {
+    public static final String EXTENSION = "dvg";
+
+    private static final int MAGIC = 0x53475644; // "DVGS" leído en little-endian
+    private static final int VERSION = 1;
+    private static final int FLAG_COORDINATES = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final IntBuffer nodeIds;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final DoubleBuffer xs;
+    private final DoubleBuffer ys;
+
+    private GraphSnapshot(int nodeCount, int edgeCount, IntBuffer nodeIds, IntBuffer offsets,
+                          IntBuffer targets, IntBuffer weights, DoubleBuffer xs, DoubleBuffer ys) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /** Writes {@code graph}; {@code layout} may be {@code null} to omit coordinates. */
+    public static void write(Path path, Graph graph, GeometricAStar.Coordinates layout) throws IOException {
+        write(path, CompactGraph.of(graph), layout);
+    }
+
+    public static void write(Path path, CompactGraph csr, GeometricAStar.Coordinates layout) throws IOException {
+        int n = csr.nodeCount();
+        int m = csr.edgeCount();
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = csr.node(i).getId();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(layout != null ? FLAG_COORDINATES : 0)
+                    .putInt(n).putInt(m).putInt(0);
+            putInts(channel, buffer, ids, n);
+            putInts(channel, buffer, csr.offsets(), n + 1);
+            putInts(channel, buffer, csr.targets(), m);
+            putInts(channel, buffer, csr.weights(), m);
+
+            if (layout != null) {
+                long written = channel.position() + buffer.position();
+                while (written++ % Double.BYTES != 0) {
+                    buffer.put((byte) 0);
+                }
+                for (int axis = 0; axis < 2; axis++) {
+                    for (int i = 0; i < n; i++) {
+                        if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+                        Node node = csr.node(i);
+                        buffer.putDouble(axis == 0 ? layout.x(node) : layout.y(node));
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putInts(FileChannel channel, ByteBuffer buffer, int[] values, int count) throws IOException {
+        int at = 0;
+        while (at < count) {
+            if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+            int chunk = Math.min(count - at, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, at, chunk);
+            buffer.position(buffer.position() + chunk * Integer.BYTES);
+            at += chunk;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Maps {@code path} read-only and validates its header; the sections stay in the mapping. */
+    public static GraphSnapshot open(Path path) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB is not supported: " + path);
+            }
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph snapshot (file too short): " + path);
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        map.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (map.getInt(0) != MAGIC) {
+            throw new IOException("Not a graph snapshot: " + path);
+        }
+        int version = map.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        int flags = map.getInt(8);
+        int n = map.getInt(12);
+        int m = map.getInt(16);
+        long intsEnd = HEADER_BYTES + ((long) n + n + 1 + m + m) * Integer.BYTES;
+        long coordStart = (intsEnd + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+        long expected = (flags & FLAG_COORDINATES) != 0 ? coordStart + 2L * n * Double.BYTES : intsEnd;
+        if (n < 0 || m < 0 || map.capacity() < expected) {
+            throw new IOException("Truncated graph snapshot: " + path);
+        }
+
+        int at = HEADER_BYTES;
+        IntBuffer ids = ints(map, at, n);
+        at += n * Integer.BYTES;
+        IntBuffer offsets = ints(map, at, n + 1);
+        at += (n + 1) * Integer.BYTES;
+        IntBuffer targets = ints(map, at, m);
+        at += m * Integer.BYTES;
+        IntBuffer weights = ints(map, at, m);
+        DoubleBuffer xs = null;
+        DoubleBuffer ys = null;
+        if ((flags & FLAG_COORDINATES) != 0) {
+            xs = doubles(map, (int) coordStart, n);
+            ys = doubles(map, (int) coordStart + n * Double.BYTES, n);
+        }
+        validate(path, n, m, ids, offsets, targets, weights);
+        return new GraphSnapshot(n, m, ids, offsets, targets, weights, xs, ys);
+    }
+
+    // Un fichero corrupto o ajeno se rechaza aquí con IOException, no más tarde al construir el grafo
+    private static void validate(Path path, int n, int m, IntBuffer ids, IntBuffer offsets, IntBuffer targets,
+                                 IntBuffer weights) throws IOException {
+        if (offsets.get(0) != 0 || offsets.get(n) != m) {
+            throw new IOException("Corrupt graph snapshot offsets: " + path);
+        }
+        for (int u = 0; u < n; u++) {
+            if (offsets.get(u) > offsets.get(u + 1)) {
+                throw new IOException("Corrupt graph snapshot offsets at node " + u + ": " + path);
+            }
+        }
+        for (int slot = 0; slot < m; slot++) {
+            int v = targets.get(slot);
+            if (v < 0 || v >= n) {
+                throw new IOException("Corrupt graph snapshot: edge " + slot + " points to node " + v + ": " + path);
+            }
+            // Las fronteras (DialQueue, RadixHeap) suponen pesos no negativos
+            if (weights.get(slot) < 0) {
+                throw new IOException("Corrupt graph snapshot: edge " + slot + " has negative weight "
+                        + weights.get(slot) + ": " + path);
+            }
+        }
+        int[] sorted = new int[n];
+        ids.duplicate().get(sorted);
+        Arrays.sort(sorted);
+        for (int i = 1; i < n; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IOException("Corrupt graph snapshot: duplicate node id " + sorted[i] + ": " + path);
+            }
+        }
+    }
+
+    private static IntBuffer ints(ByteBuffer map, int at, int count) {
+        return map.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(at).limit(at + count * Integer.BYTES)
+                .slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static DoubleBuffer doubles(ByteBuffer map, int at, int count) {
+        return map.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(at).limit(at + count * Double.BYTES)
+                .slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    public int nodeCount() { return nodeCount; }
+    public int edgeCount() { return edgeCount; }
+    public boolean hasCoordinates() { return xs != null; }
+
+    // Vistas directas sobre el fichero mapeado (solo lectura)
+    public IntBuffer nodeIds() { return nodeIds.duplicate(); }
+    public IntBuffer offsets() { return offsets.duplicate(); }
+    public IntBuffer targets() { return targets.duplicate(); }
+    public IntBuffer weights() { return weights.duplicate(); }
+
+    public double x(int node) { return xs.get(node); }
+    public double y(int node) { return ys.get(node); }
+
+    /** Copies the sections into a {@link CompactGraph}; each section is one bulk copy. */
+    public CompactGraph toCompactGraph() {
+        Node[] nodes = createNodes();
+        int[] off = new int[nodeCount + 1];
+        int[] tgt = new int[edgeCount];
+        int[] wgt = new int[edgeCount];
+        offsets().get(off);
+        targets().get(tgt);
+        weights().get(wgt);
+        int[] edgeIds = new int[edgeCount];
+        for (int slot = 0; slot < edgeCount; slot++) {
+            edgeIds[slot] = slot;
+        }
+        return new CompactGraph(nodes, off, tgt, wgt, edgeIds, null);
+    }
+
+    /** Rebuilds an editable {@link Graph}; node {@code i} of the snapshot is {@code graph.nodes.get(i)}. */
+    public Graph toGraph() {
+        Graph graph = new Graph();
+        Node[] nodes = createNodes();
+        graph.bulkLoad(() -> {
+            for (Node node : nodes) {
+                graph.addNode(node);
+            }
+            for (int u = 0; u < nodeCount; u++) {
+                for (int slot = offsets.get(u); slot < offsets.get(u + 1); slot++) {
+                    graph.addEdge(nodes[u], nodes[targets.get(slot)], weights.get(slot));
+                }
+            }
+        });
+        return graph;
+    }
+
+    /** Stored layout for the nodes of {@code graph}, which must come from {@link #toGraph()}. */
+    public GeometricAStar.Coordinates layout(Graph graph) {
+        if (xs == null) {
+            throw new IllegalStateException("Snapshot has no coordinates");
+        }
+        return new GeometricAStar.Coordinates() {
+            @Override
+            public double x(Node node) {
+                int i = graph.indexOf(node);
+                return i < 0 ? 0 : xs.get(i);
+            }
+
+            @Override
+            public double y(Node node) {
+                int i = graph.indexOf(node);
+                return i < 0 ? 0 : ys.get(i);
+            }
+        };
+    }
+
+    private Node[] createNodes() {
+        Node[] nodes = new Node[nodeCount];
+        IntBuffer ids = nodeIds();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = new Node(ids.get(i));
+        }
+        return nodes;
+    }
+}
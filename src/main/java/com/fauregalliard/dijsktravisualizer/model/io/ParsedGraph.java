@@ -0,0 +1,93 @@
+package com.fauregalliard.dijsktravisualizer.model.io;
+
+import com.fauregalliard.dijsktravisualizer.model.CompactGraph;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+
+import java.util.Arrays;
+
+/**
+ * Edges read by a parser, kept as parallel primitive arrays. Endpoints are dense 0-based indexes;
+ * node {@code i} gets id {@code i + 1}, like {@link Graph#createNodes}.
+ */
+public class ParsedGraph {
+    private final int nodeCount;
+    private int edgeCount;
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+
+    ParsedGraph(int nodeCount, int expectedEdges) {
+        this.nodeCount = nodeCount;
+        // No se confía a ciegas en la cabecera: se reserva poco y se crece bajo demanda
+        int capacity = Math.max(16, Math.min(expectedEdges, 1 << 20));
+        from = new int[capacity];
+        to = new int[capacity];
+        weight = new int[capacity];
+    }
+
+    ParsedGraph(int nodeCount, int[] from, int[] to, int[] weight) {
+        this.nodeCount = nodeCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.edgeCount = from.length;
+    }
+
+    void add(int u, int v, int w) {
+        if (edgeCount == from.length) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) edgeCount * 2);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[edgeCount] = u;
+        to[edgeCount] = v;
+        weight[edgeCount] = w;
+        edgeCount++;
+    }
+
+    public int nodeCount() { return nodeCount; }
+    public int edgeCount() { return edgeCount; }
+    public int from(int edge) { return from[edge]; }
+    public int to(int edge) { return to[edge]; }
+    public int weight(int edge) { return weight[edge]; }
+
+    public Graph toGraph() {
+        Graph graph = new Graph();
+        graph.bulkLoad(() -> {
+            graph.createNodes(nodeCount);
+            Node[] nodes = graph.nodes.toArray(new Node[0]);
+            for (int e = 0; e < edgeCount; e++) {
+                graph.addEdge(nodes[from[e]], nodes[to[e]], weight[e]);
+            }
+        });
+        return graph;
+    }
+
+    /** CSR view built directly from the arrays; edge ids are the input order. */
+    public CompactGraph toCompactGraph() {
+        Node[] nodes = new Node[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = new Node(i + 1);
+        }
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[from[e] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int[] edgeIds = new int[edgeCount];
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = cursor[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+            edgeIds[slot] = e;
+        }
+        return new CompactGraph(nodes, offsets, targets, weights, edgeIds, null);
+    }
+}
@@ -0,0 +1,382 @@
+package com.fauregalliard.dijsktravisualizer.model.overlay;
+
+import com.fauregalliard.dijsktravisualizer.model.CompactGraph;
+import com.fauregalliard.dijsktravisualizer.model.DijkstraAlgorithm.PathResult;
+import com.fauregalliard.dijsktravisualizer.model.Edge;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+import com.fauregalliard.dijsktravisualizer.model.frontier.IndexedBinaryHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Customizable route planning over a {@link Partition}. For every cell at every level the overlay
+ * keeps a clique between the cell's boundary nodes whose weights are the shortest distances inside
+ * the cell ("customization"). Level {@code l} cliques are computed from the level {@code l - 1}
+ * cliques, so after a weight change or a new edge only the cells that contain its endpoints are
+ * recomputed, bottom-up; {@link #sync()} picks those edits up from the graph's change log. Queries
+ * run Dijkstra on the original edges near the source and target and on the coarsest cliques
+ * everywhere else.
+ *
+ * <p>Not thread-safe while {@link #sync()} runs.
+ */
+public class MultiLevelOverlay {
+    private static final int INF = Integer.MAX_VALUE;
+    public static final int DEFAULT_CELL_SIZE = 64;
+    public static final int DEFAULT_FANOUT = 8;
+
+    private final CompactGraph csr;
+    private final Partition partition;
+    private final int levels;
+    // Grafo del que se construyó (null si fue de un CompactGraph suelto) y versión que refleja
+    private final Graph graph;
+    private long syncedVersion;
+
+    // Grafo base mutable: se edita arista a arista
+    private final int[][] outTarget;
+    private final int[][] outWeight;
+    private final int[] outSize;
+
+    // [nivel - 1][celda] -> nodos frontera, [nivel - 1][nodo] -> posición en esa lista
+    private final int[][][] boundaryNodes;
+    private final int[][] boundaryIndex;
+    // [nivel - 1][celda] -> matriz |B| x |B| de distancias dentro de la celda
+    private final int[][][] clique;
+
+    private final ThreadLocal<Workspace> workspace;
+
+    private MultiLevelOverlay(Graph graph, CompactGraph csr, Partition partition) {
+        this.graph = graph;
+        this.syncedVersion = graph != null ? graph.getVersion() : 0;
+        this.csr = csr;
+        this.partition = partition;
+        this.levels = partition.levels();
+        int n = csr.nodeCount();
+
+        outTarget = new int[n][];
+        outWeight = new int[n][];
+        outSize = new int[n];
+        int[] offsets = csr.offsets();
+        for (int u = 0; u < n; u++) {
+            int degree = offsets[u + 1] - offsets[u];
+            outTarget[u] = new int[Math.max(2, degree)];
+            outWeight[u] = new int[Math.max(2, degree)];
+            for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                setArc(u, csr.targets()[slot], csr.weights()[slot], true);
+            }
+        }
+
+        boundaryNodes = new int[levels][][];
+        boundaryIndex = new int[levels][n];
+        clique = new int[levels][][];
+        for (int level = 1; level <= levels; level++) {
+            int[] index = boundaryIndex[level - 1];
+            Arrays.fill(index, -1);
+            int[] sizes = new int[partition.cellCount(level)];
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < outSize[u]; i++) {
+                    int v = outTarget[u][i];
+                    if (partition.cell(level, u) != partition.cell(level, v)) {
+                        if (index[u] < 0) index[u] = sizes[partition.cell(level, u)]++;
+                        if (index[v] < 0) index[v] = sizes[partition.cell(level, v)]++;
+                    }
+                }
+            }
+            int[][] lists = new int[sizes.length][];
+            for (int c = 0; c < sizes.length; c++) {
+                lists[c] = new int[sizes[c]];
+            }
+            for (int v = 0; v < n; v++) {
+                if (index[v] >= 0) lists[partition.cell(level, v)][index[v]] = v;
+            }
+            boundaryNodes[level - 1] = lists;
+            clique[level - 1] = new int[sizes.length][];
+        }
+
+        workspace = ThreadLocal.withInitial(() -> new Workspace(n));
+    }
+
+    /** Overlay of {@code graph} that can follow its later edits through {@link #sync()}. */
+    public static MultiLevelOverlay build(Graph graph) {
+        return build(graph, CompactGraph.of(graph), DEFAULT_CELL_SIZE, DEFAULT_FANOUT);
+    }
+
+    /** Topology preprocessing (partition and boundaries) followed by a full customization. */
+    public static MultiLevelOverlay build(CompactGraph csr, int baseCellSize, int fanout) {
+        return build(null, csr, baseCellSize, fanout);
+    }
+
+    private static MultiLevelOverlay build(Graph graph, CompactGraph csr, int baseCellSize, int fanout) {
+        MultiLevelOverlay overlay = new MultiLevelOverlay(graph, csr, Partition.build(csr, baseCellSize, fanout));
+        overlay.customize();
+        return overlay;
+    }
+
+    public Partition getPartition() { return partition; }
+
+    /** Recomputes every clique, level by level; the cells of one level are independent and run in parallel. */
+    public void customize() {
+        for (int level = 1; level <= levels; level++) {
+            int l = level;
+            IntStream.range(0, partition.cellCount(level)).parallel()
+                    .forEach(cell -> customizeCell(l, cell, workspace.get()));
+        }
+    }
+
+    /**
+     * Applies the edges added and the weights changed in the graph since the overlay was built or
+     * last synced, re-customizing only the cells that contain their endpoints. Returns {@code false},
+     * leaving the overlay untouched, if it cannot follow: nodes were added (the partition has no cell
+     * for them) or the change log no longer reaches back. Build a new overlay then.
+     *
+     * @throws IllegalStateException if the overlay was built from a bare {@link CompactGraph}
+     */
+    public boolean sync() {
+        if (graph == null) {
+            throw new IllegalStateException("Overlay was built without a Graph to follow");
+        }
+        List<Graph.Change> changes = graph.changesSince(syncedVersion);
+        if (changes == null) return false;
+        // Cada par de extremos una sola vez, aunque cambie varias veces
+        Set<Long> arcs = new LinkedHashSet<>();
+        for (Graph.Change change : changes) {
+            if (change.getKind() == Graph.Change.Kind.NODE_ADDED) return false;
+            Edge edge = graph.edges.get(change.getIndex());
+            arcs.add((long) csr.indexOf(edge.getFrom()) << 32 | csr.indexOf(edge.getTo()));
+        }
+
+        List<Set<Integer>> touched = new ArrayList<>();
+        for (int level = 1; level <= levels; level++) {
+            touched.add(new LinkedHashSet<>());
+        }
+        for (long arc : arcs) {
+            int u = (int) (arc >>> 32);
+            int v = (int) arc;
+            // El arco guarda la más ligera de las aristas paralelas, no la última editada
+            int weight = INF;
+            for (Edge parallel : graph.edgesBetween(csr.node(u), csr.node(v))) {
+                weight = Math.min(weight, parallel.getWeight());
+            }
+            setArc(u, v, weight, false);
+            for (int level = 1; level <= levels; level++) {
+                int cu = partition.cell(level, u);
+                int cv = partition.cell(level, v);
+                if (cu != cv) {
+                    addBoundary(level, u);
+                    addBoundary(level, v);
+                }
+                touched.get(level - 1).add(cu);
+                touched.get(level - 1).add(cv);
+            }
+        }
+
+        // De abajo arriba: cada nivel usa las cliques ya recalculadas del anterior
+        for (int level = 1; level <= levels; level++) {
+            int l = level;
+            touched.get(level - 1).parallelStream().forEach(cell -> customizeCell(l, cell, workspace.get()));
+        }
+        syncedVersion = graph.getVersion();
+        return true;
+    }
+
+    private void setArc(int u, int v, int weight, boolean keepMinimum) {
+        for (int i = 0; i < outSize[u]; i++) {
+            if (outTarget[u][i] == v) {
+                if (!keepMinimum || weight < outWeight[u][i]) outWeight[u][i] = weight;
+                return;
+            }
+        }
+        if (outSize[u] == outTarget[u].length) {
+            outTarget[u] = Arrays.copyOf(outTarget[u], outSize[u] * 2);
+            outWeight[u] = Arrays.copyOf(outWeight[u], outSize[u] * 2);
+        }
+        outTarget[u][outSize[u]] = v;
+        outWeight[u][outSize[u]] = weight;
+        outSize[u]++;
+    }
+
+    private void addBoundary(int level, int node) {
+        int[] index = boundaryIndex[level - 1];
+        if (index[node] >= 0) return;
+        int cell = partition.cell(level, node);
+        int[] list = boundaryNodes[level - 1][cell];
+        index[node] = list.length;
+        list = Arrays.copyOf(list, list.length + 1);
+        list[list.length - 1] = node;
+        boundaryNodes[level - 1][cell] = list;
+    }
+
+    private void customizeCell(int level, int cell, Workspace ws) {
+        int[] boundary = boundaryNodes[level - 1][cell];
+        int k = boundary.length;
+        int[] matrix = new int[k * k];
+        for (int i = 0; i < k; i++) {
+            ws.searchInCell(this, level, cell, boundary[i], -1, level > 1);
+            for (int j = 0; j < k; j++) {
+                matrix[i * k + j] = ws.dist[boundary[j]];
+            }
+        }
+        clique[level - 1][cell] = matrix;
+    }
+
+    // Nivel más alto en el que v no comparte celda ni con el origen ni con el destino
+    private int queryLevel(int v, int s, int t) {
+        for (int level = levels; level >= 1; level--) {
+            int c = partition.cell(level, v);
+            if (c != partition.cell(level, s) && c != partition.cell(level, t)) return level;
+        }
+        return 0;
+    }
+
+    public PathResult calculateShortestPath(Node start, Node end) {
+        int s = csr.indexOf(start);
+        int t = csr.indexOf(end);
+        List<Node> path = new ArrayList<>();
+        if (s < 0 || t < 0) {
+            path.add(end);
+            return new PathResult(INF, path, 0);
+        }
+
+        Workspace ws = workspace.get();
+        ws.reset();
+        ws.touch(s, 0);
+        int settled = 0;
+
+        while (!ws.heap.isEmpty()) {
+            int u = ws.heap.pop();
+            settled++;
+            if (u == t) break;
+
+            int level = queryLevel(u, s, t);
+            int position = level > 0 ? boundaryIndex[level - 1][u] : -1;
+            if (position >= 0) {
+                int cell = partition.cell(level, u);
+                int[] boundary = boundaryNodes[level - 1][cell];
+                int[] matrix = clique[level - 1][cell];
+                for (int j = 0; j < boundary.length; j++) {
+                    int d = matrix[position * boundary.length + j];
+                    if (d != INF) ws.relax(u, boundary[j], d, level);
+                }
+            }
+            for (int i = 0; i < outSize[u]; i++) {
+                int v = outTarget[u][i];
+                // Dentro de la celda ya lo cubre la clique
+                if (position >= 0 && partition.cell(level, v) == partition.cell(level, u)) continue;
+                ws.relax(u, v, outWeight[u][i], 0);
+            }
+        }
+
+        if (ws.dist[t] == INF) {
+            path.add(end);
+            return new PathResult(INF, path, settled);
+        }
+
+        // Recorrido hacia atrás; los arcos de clique se expanden después con una búsqueda dentro de
+        // su celda (reutiliza el espacio de trabajo, por eso se copian antes)
+        int distance = ws.dist[t];
+        List<int[]> arcs = new ArrayList<>();
+        for (int at = t; at != s; at = ws.parent[at]) {
+            arcs.add(new int[]{ws.parent[at], at, ws.parentLevel[at]});
+        }
+        Collections.reverse(arcs);
+        path.add(start);
+        for (int[] arc : arcs) {
+            if (arc[2] == 0) {
+                path.add(csr.node(arc[1]));
+                continue;
+            }
+            ws.searchInCell(this, arc[2], partition.cell(arc[2], arc[0]), arc[0], arc[1], false);
+            List<Node> segment = new ArrayList<>();
+            for (int at = arc[1]; at != arc[0]; at = ws.parent[at]) {
+                segment.add(csr.node(at));
+            }
+            Collections.reverse(segment);
+            path.addAll(segment);
+        }
+        return new PathResult(distance, path, settled);
+    }
+
+    private static final class Workspace {
+        final int[] dist;
+        final int[] parent;
+        final int[] parentLevel;
+        final int[] touched;
+        final IndexedBinaryHeap heap;
+        int touchedCount;
+
+        Workspace(int n) {
+            dist = new int[n];
+            parent = new int[n];
+            parentLevel = new int[n];
+            touched = new int[n];
+            heap = new IndexedBinaryHeap(n);
+            Arrays.fill(dist, INF);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+
+        void touch(int node, int d) {
+            if (dist[node] == INF) touched[touchedCount++] = node;
+            dist[node] = d;
+            heap.push(node, d);
+        }
+
+        void relax(int u, int v, int weight, int level) {
+            int d = dist[u] + weight;
+            if (d < dist[v]) {
+                touch(v, d);
+                parent[v] = u;
+                parentLevel[v] = level;
+            }
+        }
+
+        /**
+         * Dijkstra from {@code source} restricted to {@code cell} at {@code level}. With
+         * {@code useSubcells} it runs on the level below's cliques plus the edges between subcells
+         * (customization); otherwise on the original edges (path unpacking). Stops at {@code target} if given.
+         */
+        void searchInCell(MultiLevelOverlay o, int level, int cell, int source, int target, boolean useSubcells) {
+            reset();
+            touch(source, 0);
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                if (u == target) return;
+                if (useSubcells) {
+                    int sub = o.partition.cell(level - 1, u);
+                    int[] boundary = o.boundaryNodes[level - 2][sub];
+                    int[] matrix = o.clique[level - 2][sub];
+                    int position = o.boundaryIndex[level - 2][u];
+                    for (int j = 0; j < boundary.length; j++) {
+                        int d = matrix[position * boundary.length + j];
+                        if (d != INF) relax(u, boundary[j], d, level - 1);
+                    }
+                    for (int i = 0; i < o.outSize[u]; i++) {
+                        int v = o.outTarget[u][i];
+                        if (o.partition.cell(level - 1, v) != sub && o.partition.cell(level, v) == cell) {
+                            relax(u, v, o.outWeight[u][i], 0);
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < o.outSize[u]; i++) {
+                        int v = o.outTarget[u][i];
+                        if (o.partition.cell(level, v) == cell) {
+                            relax(u, v, o.outWeight[u][i], 0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fauregalliard.dijsktravisualizer.model.overlay;
+
+import com.fauregalliard.dijsktravisualizer.model.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * Nested multi-level partition of the nodes. Level 1 cells hold at most {@code baseCellSize}
+ * nodes and every level above groups up to {@code fanout} cells of the level below, so a cell at
+ * level {@code l + 1} is always a union of whole cells at level {@code l}. Depends only on the
+ * topology: weight edits never change it.
+ */
+public class Partition {
+    private final int[][] cellOf;
+    private final int[] cellCount;
+
+    private Partition(int[][] cellOf, int[] cellCount) {
+        this.cellOf = cellOf;
+        this.cellCount = cellCount;
+    }
+
+    public static Partition build(CompactGraph csr, int baseCellSize, int fanout) {
+        int n = csr.nodeCount();
+        CompactGraph rev = csr.reverse();
+
+        // Nivel 1: crecimiento BFS sobre el grafo no dirigido
+        int[] first = grow(n, baseCellSize, csr.offsets(), csr.targets(), rev.offsets(), rev.targets());
+        int[][] levels = new int[][]{first};
+        int count = count(first);
+        int[] counts = new int[]{count};
+
+        while (count > fanout) {
+            int[] below = levels[levels.length - 1];
+
+            // Grafo de celdas: una arista por cada arista original entre celdas distintas
+            int[] degree = new int[count + 1];
+            int[] offsets = csr.offsets();
+            int[] targets = csr.targets();
+            for (int u = 0; u < n; u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    if (below[u] != below[targets[slot]]) degree[below[u] + 1]++;
+                }
+            }
+            for (int c = 0; c < count; c++) {
+                degree[c + 1] += degree[c];
+            }
+            int[] cellTargets = new int[degree[count]];
+            int[] cursor = Arrays.copyOf(degree, count);
+            for (int u = 0; u < n; u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int a = below[u];
+                    int b = below[targets[slot]];
+                    if (a != b) cellTargets[cursor[a]++] = b;
+                }
+            }
+            int[] groupOfCell = grow(count, fanout, degree, cellTargets, degree, cellTargets);
+
+            int[] above = new int[n];
+            for (int v = 0; v < n; v++) {
+                above[v] = groupOfCell[below[v]];
+            }
+            int next = count(above);
+            if (next >= count) break;
+
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            levels[levels.length - 1] = above;
+            counts = Arrays.copyOf(counts, counts.length + 1);
+            counts[counts.length - 1] = next;
+            count = next;
+        }
+        return new Partition(levels, counts);
+    }
+
+    // Agrupa elementos en bloques de hasta maxSize siguiendo vecinos (en ambos sentidos) y, si se
+    // agotan, completando con el siguiente elemento libre
+    private static int[] grow(int n, int maxSize, int[] outOffsets, int[] outTargets,
+                              int[] inOffsets, int[] inTargets) {
+        int[] group = new int[n];
+        Arrays.fill(group, -1);
+        int[] queue = new int[n];
+        int groups = 0;
+        int nextFree = 0;
+
+        while (nextFree < n) {
+            if (group[nextFree] >= 0) {
+                nextFree++;
+                continue;
+            }
+            int id = groups++;
+            int size = 0;
+            int head = 0, tail = 0;
+            while (size < maxSize) {
+                if (head == tail) {
+                    while (nextFree < n && group[nextFree] >= 0) nextFree++;
+                    if (nextFree == n) break;
+                    group[nextFree] = id;
+                    queue[tail++] = nextFree;
+                    size++;
+                    continue;
+                }
+                int u = queue[head++];
+                for (int pass = 0; pass < 2 && size < maxSize; pass++) {
+                    int[] off = pass == 0 ? outOffsets : inOffsets;
+                    int[] tgt = pass == 0 ? outTargets : inTargets;
+                    for (int i = off[u]; i < off[u + 1] && size < maxSize; i++) {
+                        int v = tgt[i];
+                        if (group[v] < 0) {
+                            group[v] = id;
+                            queue[tail++] = v;
+                            size++;
+                        }
+                    }
+                }
+            }
+        }
+        return group;
+    }
+
+    private static int count(int[] cells) {
+        int max = -1;
+        for (int c : cells) max = Math.max(max, c);
+        return max + 1;
+    }
+
+    /** Number of partition levels; levels are numbered {@code 1..levels()}. */
+    public int levels() { return cellOf.length; }
+
+    public int cell(int level, int node) { return cellOf[level - 1][node]; }
+
+    public int cellCount(int level) { return cellCount[level - 1]; }
+}
@@ -29,6 +29,14 @@ public class EdgeView extends Group {
         getChildren().addAll(mainLine, arrowLeft, arrowRight, label);
     }
 
+    // Color y grosor de la línea y de las dos puntas de la flecha
+    public void setLineStyle(Color color, double width) {
+        for (Line line : new Line[]{mainLine, arrowLeft, arrowRight}) {
+            line.setStroke(color);
+            line.setStrokeWidth(width);
+        }
+    }
+
     private Line createMainLine() {
         Line line = new Line();
         line.setStroke(Color.WHITE);
@@ -0,0 +1,557 @@
+package com.fauregalliard.dijsktravisualizer.view;
+
+import com.fauregalliard.dijsktravisualizer.model.Edge;
+import com.fauregalliard.dijsktravisualizer.model.Graph;
+import com.fauregalliard.dijsktravisualizer.model.Node;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Draws a whole graph on one {@link Canvas}, for graphs too large for a {@link NodeView} and an
+ * {@link EdgeView} per element. Each redraw covers only the regions that changed since the previous
+ * one and paints them in batched passes: one path per edge style (lines and arrowheads), the weights,
+ * one path per node colour, the node names. Nodes and edges are indexed in uniform grids (each edge
+ * in a grid coarse enough for its line to cross only a few cells), so a redraw only visits what lies
+ * in the region. Only clicks on a node reach the canvas; the rest go to whatever lies underneath.
+ */
+public final class GraphCanvas extends Canvas implements GraphPaint.Target {
+    private static final double RADIUS = 15;
+    private static final double ARROW_LENGTH = 10;
+    private static final double ARROW_ANGLE = Math.toRadians(25);
+    // Lo que sobresale de la recta entre los dos centros: puntas de flecha y etiqueta del peso
+    private static final double EDGE_MARGIN = 20;
+    private static final double CELL_SIZE = 4 * RADIUS;
+    // Celdas (a lo ancho o a lo alto) que puede abarcar una arista en su nivel de la rejilla
+    private static final int EDGE_SPAN_CELLS = 8;
+    private static final int MAX_DIRTY_REGIONS = 16;
+    private static final Color NODE_DEFAULT = Color.web("#8f8f8f");
+    private static final Color EDGE_DEFAULT = Color.WHITE;
+    private static final Font NODE_FONT = Font.font(12);
+    private static final Font WEIGHT_FONT = Font.font(15);
+
+    // positions[i] = {x, y}; los arrays son los del renderer, así que arrastrar un nodo actualiza la disposición
+    private final double[][] positions;
+    private final String[] names;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final String[] weights;
+    // Aristas incidentes a cada nodo (salientes y entrantes), en formato CSR
+    private final int[] incidentOffsets;
+    private final int[] incident;
+
+    // Estilos en uso: pocos (los de la paleta), así que basta una búsqueda lineal
+    private final List<Color> nodeStyles = new ArrayList<>();
+    private final List<Color> edgeStyleColors = new ArrayList<>();
+    private final List<Double> edgeStyleWidths = new ArrayList<>();
+    private final int[] nodeStyle;
+    private final int[] edgeStyle;
+
+    private final Map<Long, Cell> grid = new HashMap<>();
+    // edgeGrids.get(l): celdas de CELL_SIZE * 2^l con las aristas que cruzan cada una, ensanchadas EDGE_MARGIN;
+    // cada arista va al primer nivel en el que abarca como mucho EDGE_SPAN_CELLS celdas
+    private final List<Map<Long, Cell>> edgeGrids = new ArrayList<>();
+    private final int[] edgeMark;
+    private int edgeEpoch;
+    private final int[] scratch;
+    private final int[] styleCounts = new int[Byte.MAX_VALUE + 1];
+
+    private final List<double[]> dirty = new ArrayList<>();
+    private boolean fullRedraw = true;
+    private boolean redrawScheduled;
+
+    private IntConsumer onNodeDoubleClick;
+    private int dragged = -1;
+    private double offsetX;
+    private double offsetY;
+
+    /** {@code positions} must hold an entry for every node of {@code graph}. */
+    public GraphCanvas(Graph graph, Map<Node, double[]> positions) {
+        int n = graph.nodes.size();
+        int m = graph.edges.size();
+        this.positions = new double[n][];
+        names = new String[n];
+        for (int i = 0; i < n; i++) {
+            Node node = graph.nodes.get(i);
+            this.positions[i] = positions.get(node);
+            names[i] = String.valueOf(node.getId());
+            cell(this.positions[i][0], this.positions[i][1], true).add(i);
+        }
+
+        edgeFrom = new int[m];
+        edgeTo = new int[m];
+        weights = new String[m];
+        incidentOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            Edge edge = graph.edges.get(e);
+            edgeFrom[e] = graph.indexOf(edge.getFrom());
+            edgeTo[e] = graph.indexOf(edge.getTo());
+            weights[e] = String.valueOf(edge.getWeight());
+            incidentOffsets[edgeFrom[e] + 1]++;
+            incidentOffsets[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) incidentOffsets[i + 1] += incidentOffsets[i];
+        incident = new int[2 * m];
+        int[] next = Arrays.copyOf(incidentOffsets, n);
+        for (int e = 0; e < m; e++) {
+            incident[next[edgeFrom[e]]++] = e;
+            incident[next[edgeTo[e]]++] = e;
+            coverEdge(e, true);
+        }
+        edgeMark = new int[m];
+
+        nodeStyle = new int[n];
+        edgeStyle = new int[m];
+        nodeStyles.add(NODE_DEFAULT);
+        edgeStyleColors.add(EDGE_DEFAULT);
+        edgeStyleWidths.add(2.0);
+        scratch = new int[Math.max(n, m)];
+
+        setPickOnBounds(false);
+        widthProperty().addListener((obs, old, val) -> markAll());
+        heightProperty().addListener((obs, old, val) -> markAll());
+        enableMouse();
+    }
+
+    /** Called with the index (in {@code graph.nodes}) of a double-clicked node. */
+    public void setOnNodeDoubleClick(IntConsumer onNodeDoubleClick) {
+        this.onNodeDoubleClick = onNodeDoubleClick;
+    }
+
+    /** Index of the topmost node under the point, or -1. */
+    public int nodeAt(double x, double y) {
+        long cx = (long) Math.floor(x / CELL_SIZE);
+        long cy = (long) Math.floor(y / CELL_SIZE);
+        int found = -1;
+        for (long gx = cx - 1; gx <= cx + 1; gx++) {
+            for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                Cell cell = grid.get(key(gx, gy));
+                if (cell == null) continue;
+                for (int k = 0; k < cell.size; k++) {
+                    int i = cell.items[k];
+                    // Si se solapan gana el de mayor índice
+                    if (i > found && Math.hypot(positions[i][0] - x, positions[i][1] - y) <= RADIUS) {
+                        found = i;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Solo los nodos reciben eventos; el resto del lienzo deja pasar los clics
+    @Override
+    public boolean contains(double localX, double localY) {
+        return nodeAt(localX, localY) >= 0;
+    }
+
+    @Override
+    public void fillNode(int node, Color color) {
+        int style = nodeStyleOf(color);
+        if (nodeStyle[node] == style) return;
+        nodeStyle[node] = style;
+        double[] p = positions[node];
+        markDirty(p[0] - RADIUS, p[1] - RADIUS, p[0] + RADIUS, p[1] + RADIUS);
+    }
+
+    @Override
+    public void strokeEdge(int edge, Color color, double width) {
+        int style = edgeStyleOf(color, width);
+        if (edgeStyle[edge] == style) return;
+        edgeStyle[edge] = style;
+        double[] u = positions[edgeFrom[edge]];
+        double[] v = positions[edgeTo[edge]];
+        markDirty(Math.min(u[0], v[0]) - EDGE_MARGIN, Math.min(u[1], v[1]) - EDGE_MARGIN,
+                Math.max(u[0], v[0]) + EDGE_MARGIN, Math.max(u[1], v[1]) + EDGE_MARGIN);
+    }
+
+    /** Every node and edge back to one style. */
+    public void resetStyles(Color nodeColor, Color edgeColor, double edgeWidth) {
+        Arrays.fill(nodeStyle, nodeStyleOf(nodeColor));
+        Arrays.fill(edgeStyle, edgeStyleOf(edgeColor, edgeWidth));
+        markAll();
+    }
+
+    public void moveNode(int node, double x, double y) {
+        markNodeRegion(node);
+        double[] p = positions[node];
+        Cell old = cell(p[0], p[1], false);
+        if (old != null) old.remove(node);
+        for (int k = incidentOffsets[node]; k < incidentOffsets[node + 1]; k++) {
+            coverEdge(incident[k], false);
+        }
+        p[0] = x;
+        p[1] = y;
+        cell(x, y, true).add(node);
+        for (int k = incidentOffsets[node]; k < incidentOffsets[node + 1]; k++) {
+            coverEdge(incident[k], true);
+        }
+        markNodeRegion(node);
+    }
+
+    /** Positions changed from outside (e.g. a loaded layout): rebuilds the grids and redraws all. */
+    public void positionsChanged() {
+        grid.clear();
+        edgeGrids.clear();
+        for (int i = 0; i < positions.length; i++) {
+            cell(positions[i][0], positions[i][1], true).add(i);
+        }
+        for (int e = 0; e < edgeFrom.length; e++) {
+            coverEdge(e, true);
+        }
+        markAll();
+    }
+
+    private void enableMouse() {
+        setOnMousePressed(e -> {
+            dragged = nodeAt(e.getX(), e.getY());
+            if (dragged >= 0) {
+                offsetX = e.getX() - positions[dragged][0];
+                offsetY = e.getY() - positions[dragged][1];
+            }
+        });
+        setOnMouseDragged(e -> {
+            if (dragged >= 0) moveNode(dragged, e.getX() - offsetX, e.getY() - offsetY);
+        });
+        setOnMouseReleased(e -> dragged = -1);
+        setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && onNodeDoubleClick != null) {
+                int node = nodeAt(e.getX(), e.getY());
+                if (node >= 0) onNodeDoubleClick.accept(node);
+            }
+        });
+    }
+
+    // El nodo y todas sus aristas: rectángulo que las contiene
+    private void markNodeRegion(int node) {
+        double[] p = positions[node];
+        double minX = p[0] - RADIUS, minY = p[1] - RADIUS, maxX = p[0] + RADIUS, maxY = p[1] + RADIUS;
+        for (int k = incidentOffsets[node]; k < incidentOffsets[node + 1]; k++) {
+            int e = incident[k];
+            double[] u = positions[edgeFrom[e]];
+            double[] v = positions[edgeTo[e]];
+            minX = Math.min(minX, Math.min(u[0], v[0]) - EDGE_MARGIN);
+            minY = Math.min(minY, Math.min(u[1], v[1]) - EDGE_MARGIN);
+            maxX = Math.max(maxX, Math.max(u[0], v[0]) + EDGE_MARGIN);
+            maxY = Math.max(maxY, Math.max(u[1], v[1]) + EDGE_MARGIN);
+        }
+        markDirty(minX, minY, maxX, maxY);
+    }
+
+    private void markDirty(double minX, double minY, double maxX, double maxY) {
+        if (!fullRedraw) {
+            if (dirty.size() == MAX_DIRTY_REGIONS) {
+                // Demasiadas zonas sueltas: sale más barato repintar todo de una vez
+                markAll();
+                return;
+            }
+            dirty.add(new double[]{minX, minY, maxX, maxY});
+        }
+        scheduleRedraw();
+    }
+
+    private void markAll() {
+        fullRedraw = true;
+        dirty.clear();
+        scheduleRedraw();
+    }
+
+    // Todos los cambios hasta el siguiente pulso se pintan juntos
+    private void scheduleRedraw() {
+        if (redrawScheduled) return;
+        redrawScheduled = true;
+        Platform.runLater(this::redraw);
+    }
+
+    private void redraw() {
+        redrawScheduled = false;
+        GraphicsContext gc = getGraphicsContext2D();
+        if (fullRedraw) {
+            drawRegion(gc, 0, 0, getWidth(), getHeight());
+        } else {
+            for (double[] r : dirty) {
+                drawRegion(gc, Math.max(0, r[0]), Math.max(0, r[1]),
+                        Math.min(getWidth(), r[2]), Math.min(getHeight(), r[3]));
+            }
+        }
+        fullRedraw = false;
+        dirty.clear();
+    }
+
+    private void drawRegion(GraphicsContext gc, double minX, double minY, double maxX, double maxY) {
+        if (minX >= maxX || minY >= maxY) return;
+        gc.save();
+        gc.beginPath();
+        gc.rect(minX, minY, maxX - minX, maxY - minY);
+        gc.clip();
+        gc.clearRect(minX, minY, maxX - minX, maxY - minY);
+
+        // Una arista ocupa varias celdas: la marca evita dibujarla dos veces
+        edgeEpoch++;
+        int count = 0;
+        double cellSize = CELL_SIZE;
+        for (Map<Long, Cell> level : edgeGrids) {
+            for (Cell cell : cellsIn(level, cellSize, minX, minY, maxX, maxY)) {
+                for (int k = 0; k < cell.size; k++) {
+                    int e = cell.items[k];
+                    if (edgeMark[e] == edgeEpoch) continue;
+                    edgeMark[e] = edgeEpoch;
+                    if (crosses(e, minX - EDGE_MARGIN, minY - EDGE_MARGIN, maxX + EDGE_MARGIN, maxY + EDGE_MARGIN)) {
+                        scratch[count++] = e;
+                    }
+                }
+            }
+            cellSize *= 2;
+        }
+        drawEdges(gc, count);
+
+        count = 0;
+        for (Cell cell : cellsIn(grid, CELL_SIZE, minX - RADIUS, minY - RADIUS, maxX + RADIUS, maxY + RADIUS)) {
+            for (int k = 0; k < cell.size; k++) {
+                int i = cell.items[k];
+                double[] p = positions[i];
+                if (p[0] + RADIUS >= minX && p[0] - RADIUS <= maxX && p[1] + RADIUS >= minY && p[1] - RADIUS <= maxY) {
+                    scratch[count++] = i;
+                }
+            }
+        }
+        drawNodes(gc, count);
+        gc.restore();
+    }
+
+    // Recorte de Liang-Barsky: si algún tramo de la arista cae dentro del rectángulo
+    private boolean crosses(int e, double minX, double minY, double maxX, double maxY) {
+        double[] u = positions[edgeFrom[e]];
+        double[] v = positions[edgeTo[e]];
+        double dx = v[0] - u[0];
+        double dy = v[1] - u[1];
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {u[0] - minX, maxX - u[0], u[1] - minY, maxY - u[1]};
+        double enter = 0;
+        double leave = 1;
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+            } else {
+                double t = q[k] / p[k];
+                if (p[k] < 0) enter = Math.max(enter, t);
+                else leave = Math.min(leave, t);
+                if (enter > leave) return false;
+            }
+        }
+        return true;
+    }
+
+    // Celdas no vacías de la rejilla que tocan el rectángulo
+    private static List<Cell> cellsIn(Map<Long, Cell> cells, double cellSize,
+                                      double minX, double minY, double maxX, double maxY) {
+        long x0 = (long) Math.floor(minX / cellSize);
+        long x1 = (long) Math.floor(maxX / cellSize);
+        long y0 = (long) Math.floor(minY / cellSize);
+        long y1 = (long) Math.floor(maxY / cellSize);
+        // Rectángulo muy grande frente a las celdas ocupadas: sale más barato filtrar las ocupadas
+        if ((x1 - x0 + 1) * (y1 - y0 + 1) > cells.size()) {
+            List<Cell> found = new ArrayList<>();
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long key = entry.getKey();
+                long cx = key >> 32;
+                long cy = (int) key;
+                if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) found.add(entry.getValue());
+            }
+            return found;
+        }
+        List<Cell> found = new ArrayList<>();
+        for (long cx = x0; cx <= x1; cx++) {
+            for (long cy = y0; cy <= y1; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null) found.add(cell);
+            }
+        }
+        return found;
+    }
+
+    // Recorre la arista columna a columna: en cada una, las celdas entre las alturas de la recta en ella.
+    // El nivel depende solo de la geometría, así que al quitarla se recorren las mismas celdas
+    private void coverEdge(int e, boolean add) {
+        double[] u = positions[edgeFrom[e]];
+        double[] v = positions[edgeTo[e]];
+        double ax = u[0], ay = u[1], bx = v[0], by = v[1];
+        if (ax > bx) {
+            ax = v[0]; ay = v[1]; bx = u[0]; by = u[1];
+        }
+        double span = Math.max(bx - ax, Math.abs(by - ay)) + 2 * EDGE_MARGIN;
+        int level = 0;
+        double cellSize = CELL_SIZE;
+        while (span > EDGE_SPAN_CELLS * cellSize) {
+            level++;
+            cellSize *= 2;
+        }
+        while (edgeGrids.size() <= level) edgeGrids.add(new HashMap<>());
+        Map<Long, Cell> cells = edgeGrids.get(level);
+
+        double slope = bx > ax ? (by - ay) / (bx - ax) : 0;
+        long x0 = (long) Math.floor((ax - EDGE_MARGIN) / cellSize);
+        long x1 = (long) Math.floor((bx + EDGE_MARGIN) / cellSize);
+        for (long cx = x0; cx <= x1; cx++) {
+            double from = Math.max(ax, cx * cellSize - EDGE_MARGIN);
+            double to = Math.min(bx, (cx + 1) * cellSize + EDGE_MARGIN);
+            double yFrom = bx > ax ? ay + (from - ax) * slope : Math.min(ay, by);
+            double yTo = bx > ax ? ay + (to - ax) * slope : Math.max(ay, by);
+            long y0 = (long) Math.floor((Math.min(yFrom, yTo) - EDGE_MARGIN) / cellSize);
+            long y1 = (long) Math.floor((Math.max(yFrom, yTo) + EDGE_MARGIN) / cellSize);
+            for (long cy = y0; cy <= y1; cy++) {
+                long key = key(cx, cy);
+                if (add) {
+                    cells.computeIfAbsent(key, k -> new Cell()).add(e);
+                } else {
+                    Cell cell = cells.get(key);
+                    if (cell != null) cell.remove(e);
+                }
+            }
+        }
+    }
+
+    private void drawEdges(GraphicsContext gc, int count) {
+        int[] order = sortByStyle(count, edgeStyle, edgeStyleColors.size());
+        int k = 0;
+        for (int style = 0; style < edgeStyleColors.size(); style++) {
+            if (styleCounts[style] == 0) continue;
+            gc.setStroke(edgeStyleColors.get(style));
+            gc.setLineWidth(edgeStyleWidths.get(style));
+            gc.beginPath();
+            for (int end = k + styleCounts[style]; k < end; k++) {
+                appendEdge(gc, order[k]);
+            }
+            gc.stroke();
+        }
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(WEIGHT_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.BASELINE);
+        for (int j = 0; j < count; j++) {
+            int e = order[j];
+            double[] u = positions[edgeFrom[e]];
+            double[] v = positions[edgeTo[e]];
+            gc.fillText(weights[e], (u[0] + v[0]) / 2, (u[1] + v[1]) / 2);
+        }
+    }
+
+    // Misma geometría que EdgeView: la flecha apoya justo antes del borde del nodo destino
+    private void appendEdge(GraphicsContext gc, int e) {
+        double[] u = positions[edgeFrom[e]];
+        double[] v = positions[edgeTo[e]];
+        gc.moveTo(u[0], u[1]);
+        gc.lineTo(v[0], v[1]);
+        double dx = v[0] - u[0];
+        double dy = v[1] - u[1];
+        double length = Math.hypot(dx, dy);
+        if (length == 0) return;
+        double tipX = u[0] + dx * (length - RADIUS) * 0.97 / length;
+        double tipY = u[1] + dy * (length - RADIUS) * 0.97 / length;
+        double back = Math.atan2(dy, dx) + Math.PI;
+        for (double angle : new double[]{back - ARROW_ANGLE, back + ARROW_ANGLE}) {
+            gc.moveTo(tipX, tipY);
+            gc.lineTo(tipX + ARROW_LENGTH * Math.cos(angle), tipY + ARROW_LENGTH * Math.sin(angle));
+        }
+    }
+
+    private void drawNodes(GraphicsContext gc, int count) {
+        int[] order = sortByStyle(count, nodeStyle, nodeStyles.size());
+        int k = 0;
+        for (int style = 0; style < nodeStyles.size(); style++) {
+            if (styleCounts[style] == 0) continue;
+            gc.setFill(nodeStyles.get(style));
+            gc.beginPath();
+            for (int end = k + styleCounts[style]; k < end; k++) {
+                double[] p = positions[order[k]];
+                gc.moveTo(p[0] + RADIUS, p[1]);
+                gc.arc(p[0], p[1], RADIUS, RADIUS, 0, 360);
+                gc.closePath();
+            }
+            gc.fill();
+        }
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(NODE_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int j = 0; j < count; j++) {
+            double[] p = positions[scratch[j]];
+            gc.fillText(names[scratch[j]], p[0], p[1]);
+        }
+    }
+
+    // Ordenación por conteo de scratch[0..count) según su estilo; styleCounts queda con el tamaño de cada grupo
+    private int[] sortByStyle(int count, int[] styles, int styleCount) {
+        Arrays.fill(styleCounts, 0, styleCount, 0);
+        for (int j = 0; j < count; j++) styleCounts[styles[scratch[j]]]++;
+        int[] starts = new int[styleCount];
+        for (int s = 1; s < styleCount; s++) starts[s] = starts[s - 1] + styleCounts[s - 1];
+        int[] order = new int[count];
+        for (int j = 0; j < count; j++) order[starts[styles[scratch[j]]]++] = scratch[j];
+        return order;
+    }
+
+    private int nodeStyleOf(Color color) {
+        int style = nodeStyles.indexOf(color);
+        if (style >= 0) return style;
+        if (nodeStyles.size() == styleCounts.length) {
+            throw new IllegalStateException("Too many node colors");
+        }
+        nodeStyles.add(color);
+        return nodeStyles.size() - 1;
+    }
+
+    private int edgeStyleOf(Color color, double width) {
+        for (int s = 0; s < edgeStyleColors.size(); s++) {
+            if (edgeStyleColors.get(s).equals(color) && edgeStyleWidths.get(s) == width) return s;
+        }
+        if (edgeStyleColors.size() == styleCounts.length) {
+            throw new IllegalStateException("Too many edge styles");
+        }
+        edgeStyleColors.add(color);
+        edgeStyleWidths.add(width);
+        return edgeStyleColors.size() - 1;
+    }
+
+    private Cell cell(double x, double y, boolean create) {
+        long key = key((long) Math.floor(x / CELL_SIZE), (long) Math.floor(y / CELL_SIZE));
+        return create ? grid.computeIfAbsent(key, k -> new Cell()) : grid.get(key);
+    }
+
+    private static long key(long cx, long cy) {
+        return (cx << 32) ^ (cy & 0xffffffffL);
+    }
+
+    // Índices de los nodos (o aristas) de una celda de la rejilla
+    private static final class Cell {
+        int[] items = new int[4];
+        int size;
+
+        void add(int item) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = item;
+        }
+
+        void remove(int item) {
+            for (int k = 0; k < size; k++) {
+                if (items[k] == item) {
+                    items[k] = items[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.fauregalliard.dijsktravisualizer.view;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Colour state of every node and edge of a graph, one palette code per element. Changes are only
+ * recorded; {@link #flush()} writes each element whose code changed since the previous flush, once,
+ * however many times it was repainted in between.
+ */
+public class GraphPaint {
+    /** Whatever shows the graph: scene-graph views or a {@link GraphCanvas}. */
+    public interface Target {
+        void fillNode(int node, Color color);
+        void strokeEdge(int edge, Color color, double width);
+    }
+
+    /** Codes of the elements changed over some stretch of painting; see {@link #takeChanges()}. */
+    public static final class Changes {
+        // Nodos como i, aristas como nodeCount + i
+        private final int[] elements;
+        private final byte[] codes;
+
+        private Changes(int[] elements, byte[] codes) {
+            this.elements = elements;
+            this.codes = codes;
+        }
+
+        public int size() { return elements.length; }
+    }
+
+    private final Color[] nodeColors;
+    private final Color[] edgeColors;
+    private final double[] edgeWidths;
+    private final Target target;
+
+    private final byte[] nodes;
+    private final byte[] edges;
+    // Código que muestra la pantalla ahora mismo; -1 si no se conoce
+    private final byte[] shownNodes;
+    private final byte[] shownEdges;
+    private final boolean[] queuedNodes;
+    private final boolean[] queuedEdges;
+    private int[] dirtyNodes = new int[64];
+    private int[] dirtyEdges = new int[64];
+    private int dirtyNodeCount;
+    private int dirtyEdgeCount;
+    // Cambios desde la última llamada a takeChanges(), independientes de los volcados
+    private final boolean[] changedNodes;
+    private final boolean[] changedEdges;
+    private int[] changed = new int[64];
+    private int changedCount;
+
+    /**
+     * {@code nodeColors[c]} is the fill of node code {@code c}; {@code edgeColors[c]} and
+     * {@code edgeWidths[c]} the stroke of edge code {@code c}. Code 0 is the default of each.
+     */
+    public GraphPaint(int nodeCount, int edgeCount, Color[] nodeColors, Color[] edgeColors, double[] edgeWidths,
+                      Target target) {
+        if (nodeColors.length > Byte.MAX_VALUE || edgeColors.length > Byte.MAX_VALUE
+                || edgeColors.length != edgeWidths.length) {
+            throw new IllegalArgumentException("Invalid palette");
+        }
+        this.nodeColors = nodeColors;
+        this.edgeColors = edgeColors;
+        this.edgeWidths = edgeWidths;
+        this.target = target;
+        nodes = new byte[nodeCount];
+        edges = new byte[edgeCount];
+        shownNodes = new byte[nodeCount];
+        shownEdges = new byte[edgeCount];
+        Arrays.fill(shownNodes, (byte) -1);
+        Arrays.fill(shownEdges, (byte) -1);
+        queuedNodes = new boolean[nodeCount];
+        queuedEdges = new boolean[edgeCount];
+        changedNodes = new boolean[nodeCount];
+        changedEdges = new boolean[edgeCount];
+        for (int i = 0; i < nodeCount; i++) markNode(i);
+        for (int i = 0; i < edgeCount; i++) markEdge(i);
+    }
+
+    public int nodeCount() { return nodes.length; }
+    public int edgeCount() { return edges.length; }
+
+    public int node(int node) { return nodes[node]; }
+    public int edge(int edge) { return edges[edge]; }
+
+    public void setNode(int node, int code) {
+        if (nodes[node] != code) {
+            nodes[node] = (byte) code;
+            markNode(node);
+            if (!changedNodes[node]) {
+                changedNodes[node] = true;
+                addChanged(node);
+            }
+        }
+    }
+
+    public void setEdge(int edge, int code) {
+        if (edges[edge] != code) {
+            edges[edge] = (byte) code;
+            markEdge(edge);
+            if (!changedEdges[edge]) {
+                changedEdges[edge] = true;
+                addChanged(nodes.length + edge);
+            }
+        }
+    }
+
+    /**
+     * Elements whose code changed since the previous call (or {@link #discardChanges()}), with their
+     * current codes. Applying it to the state of that moment, or to any state reached from it by
+     * painting only, gives the current state.
+     */
+    public Changes takeChanges() {
+        int[] elements = Arrays.copyOf(changed, changedCount);
+        byte[] codes = new byte[changedCount];
+        for (int k = 0; k < changedCount; k++) {
+            int e = elements[k];
+            codes[k] = e < nodes.length ? nodes[e] : edges[e - nodes.length];
+        }
+        discardChanges();
+        return new Changes(elements, codes);
+    }
+
+    /** Forgets the changes tracked so far. */
+    public void discardChanges() {
+        for (int k = 0; k < changedCount; k++) {
+            int e = changed[k];
+            if (e < nodes.length) changedNodes[e] = false;
+            else changedEdges[e - nodes.length] = false;
+        }
+        changedCount = 0;
+    }
+
+    /** Paints the codes recorded in {@code changes}. */
+    public void apply(Changes changes) {
+        for (int k = 0; k < changes.elements.length; k++) {
+            int e = changes.elements[k];
+            if (e < nodes.length) setNode(e, changes.codes[k]);
+            else setEdge(e - nodes.length, changes.codes[k]);
+        }
+    }
+
+    /** Copies of the node and edge codes, in that order. */
+    public byte[][] snapshot() {
+        return new byte[][]{nodes.clone(), edges.clone()};
+    }
+
+    /** Returns to a state taken with {@link #snapshot()}; only the differences are marked. */
+    public void restore(byte[][] state) {
+        byte[] savedNodes = state[0];
+        byte[] savedEdges = state[1];
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] != savedNodes[i]) setNode(i, savedNodes[i]);
+        }
+        for (int i = 0; i < edges.length; i++) {
+            if (edges[i] != savedEdges[i]) setEdge(i, savedEdges[i]);
+        }
+    }
+
+    /** Writes the pending changes to the target. */
+    public void flush() {
+        for (int k = 0; k < dirtyNodeCount; k++) {
+            int i = dirtyNodes[k];
+            queuedNodes[i] = false;
+            if (shownNodes[i] != nodes[i]) {
+                target.fillNode(i, nodeColors[nodes[i]]);
+                shownNodes[i] = nodes[i];
+            }
+        }
+        for (int k = 0; k < dirtyEdgeCount; k++) {
+            int i = dirtyEdges[k];
+            queuedEdges[i] = false;
+            if (shownEdges[i] != edges[i]) {
+                target.strokeEdge(i, edgeColors[edges[i]], edgeWidths[edges[i]]);
+                shownEdges[i] = edges[i];
+            }
+        }
+        dirtyNodeCount = 0;
+        dirtyEdgeCount = 0;
+    }
+
+    // Cada elemento entra como mucho una vez en la lista de pendientes
+    private void markNode(int node) {
+        if (queuedNodes[node]) return;
+        queuedNodes[node] = true;
+        if (dirtyNodeCount == dirtyNodes.length) dirtyNodes = Arrays.copyOf(dirtyNodes, dirtyNodeCount * 2);
+        dirtyNodes[dirtyNodeCount++] = node;
+    }
+
+    private void addChanged(int element) {
+        if (changedCount == changed.length) changed = Arrays.copyOf(changed, changedCount * 2);
+        changed[changedCount++] = element;
+    }
+
+    private void markEdge(int edge) {
+        if (queuedEdges[edge]) return;
+        queuedEdges[edge] = true;
+        if (dirtyEdgeCount == dirtyEdges.length) dirtyEdges = Arrays.copyOf(dirtyEdges, dirtyEdgeCount * 2);
+        dirtyEdges[dirtyEdgeCount++] = edge;
+    }
+}
@@ -1,9 +1,11 @@
 package com.fauregalliard.dijsktravisualizer.view;
 
 import com.fauregalliard.dijsktravisualizer.model.Edge;
+import com.fauregalliard.dijsktravisualizer.model.GeometricAStar;
 import com.fauregalliard.dijsktravisualizer.model.Graph;
 import com.fauregalliard.dijsktravisualizer.model.Node;
 import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -11,9 +13,18 @@ import java.util.List;
 import java.util.Map;
 
 public class GraphRenderer {
+    // A partir de aquí (nodos + aristas) se dibuja en un GraphCanvas en vez de con una vista por elemento
+    public static final int CANVAS_THRESHOLD = 2000;
+
     private final List<NodeView> viewNodes;
     private final List<EdgeView> viewEdges;
     private final Map<Node, NodeView> nodeToViewMap;
+    private final Map<NodeView, Node> viewToNodeMap;
+    private final Map<Edge, EdgeView> edgeToViewMap;
+    // Modo lienzo: la disposición vive aquí en lugar de en las vistas
+    private final Map<Node, double[]> nodePositions;
+    private GraphCanvas canvas;
+    private boolean canvasMode;
 
     private int column;
     private int row;
@@ -27,6 +38,9 @@ public class GraphRenderer {
         viewNodes = new ArrayList<>();
         viewEdges = new ArrayList<>();
         nodeToViewMap = new HashMap<>();
+        viewToNodeMap = new HashMap<>();
+        edgeToViewMap = new HashMap<>();
+        nodePositions = new HashMap<>();
         column = 0;
         row = 0;
     }
@@ -34,27 +48,35 @@ public class GraphRenderer {
     public void addNode(Node modelNode, NodeView viewNode) {
         viewNodes.add(viewNode);
         nodeToViewMap.put(modelNode, viewNode);
+        viewToNodeMap.put(viewNode, modelNode);
     }
 
-    public void addEdge(NodeView from, NodeView to, int weight) {
+    public EdgeView addEdge(NodeView from, NodeView to, int weight) {
         EdgeView edge = new EdgeView(from, to, weight);
         viewEdges.add(edge);
+        return edge;
     }
 
 
     public void createNodes(List<Node> modelNodes) {
+        if (!canvasMode && nodeToViewMap.size() + modelNodes.size() > CANVAS_THRESHOLD) {
+            useCanvas();
+        }
         for (Node modelNode : modelNodes) {
 
-            if (nodeToViewMap.containsKey(modelNode)) {
+            if (nodeToViewMap.containsKey(modelNode) || nodePositions.containsKey(modelNode)) {
                 continue;
             }
 
             double x = startX + (column * columnSpace);
             double y = startY + (row * rowSpace);
 
-            NodeView nodeView = new NodeView(x, y, String.valueOf(modelNode.getId()));
-
-            addNode(modelNode, nodeView);
+            if (canvasMode) {
+                nodePositions.put(modelNode, new double[]{x, y});
+            } else {
+                NodeView nodeView = new NodeView(x, y, String.valueOf(modelNode.getId()));
+                addNode(modelNode, nodeView);
+            }
 
             column++;
             if (column >= cantityPerRow) {
@@ -66,6 +88,7 @@ public class GraphRenderer {
 
     public void createEdges(List<Edge> modelEdges) {
         viewEdges.clear();
+        edgeToViewMap.clear();
 
         for (Edge edge : modelEdges) {
             Node fromNode = edge.getFrom();
@@ -75,7 +98,7 @@ public class GraphRenderer {
             NodeView toView = nodeToViewMap.get(toNode);
 
             if (fromView != null && toView != null) {
-                addEdge(fromView, toView, edge.getWeight());
+                edgeToViewMap.put(edge, addEdge(fromView, toView, edge.getWeight()));
             }
         }
     }
@@ -93,20 +116,102 @@ public class GraphRenderer {
     }
 
     public void renderGraph(Graph graph, Pane canvasPane) {
+        if (!canvasMode && graph.nodes.size() + graph.edges.size() > CANVAS_THRESHOLD) {
+            useCanvas();
+        }
         createNodes(graph.nodes);
-        createEdges(graph.edges);
-        render(canvasPane);
+        if (!canvasMode) {
+            createEdges(graph.edges);
+            render(canvasPane);
+            return;
+        }
+
+        if (canvas != null) {
+            canvas.widthProperty().unbind();
+            canvas.heightProperty().unbind();
+        }
+        canvas = new GraphCanvas(graph, nodePositions);
+        // Fuera de la gestión del layout: el lienzo ocupa el panel, no lo hace crecer
+        canvas.setManaged(false);
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.heightProperty().bind(canvasPane.heightProperty());
+        canvasPane.getChildren().setAll(canvas);
+    }
+
+    // Pasa la disposición de las vistas ya creadas al mapa de posiciones y deja de usarlas
+    private void useCanvas() {
+        canvasMode = true;
+        nodeToViewMap.forEach((node, view) ->
+                nodePositions.put(node, new double[]{view.getCircle().getCenterX(), view.getCircle().getCenterY()}));
+        viewNodes.clear();
+        viewEdges.clear();
+        nodeToViewMap.clear();
+        viewToNodeMap.clear();
+        edgeToViewMap.clear();
     }
 
     public void clear() {
         viewNodes.clear();
         viewEdges.clear();
         nodeToViewMap.clear();
+        viewToNodeMap.clear();
+        edgeToViewMap.clear();
+        nodePositions.clear();
+        canvas = null;
+        canvasMode = false;
         column = 0;
         row = 0;
     }
 
     // Getters
+    public boolean isCanvasMode() {
+        return canvasMode;
+    }
+
+    /** The canvas of the last {@link #renderGraph} in canvas mode, or {@code null}. */
+    public GraphCanvas getCanvas() {
+        return canvas;
+    }
+
+    public boolean hasNode(Node modelNode) {
+        return nodeToViewMap.containsKey(modelNode) || nodePositions.containsKey(modelNode);
+    }
+
+    /**
+     * Paint target for {@code graph}, which must be the graph last rendered: node and edge indexes
+     * are those of {@code graph.nodes} and {@code graph.edges}.
+     */
+    public GraphPaint.Target paintTarget(Graph graph) {
+        if (canvasMode) {
+            return canvas;
+        }
+        NodeView[] nodes = new NodeView[graph.nodes.size()];
+        for (int i = 0; i < nodes.length; i++) nodes[i] = nodeToViewMap.get(graph.nodes.get(i));
+        EdgeView[] edges = new EdgeView[graph.edges.size()];
+        for (int i = 0; i < edges.length; i++) edges[i] = edgeToViewMap.get(graph.edges.get(i));
+        return new GraphPaint.Target() {
+            @Override
+            public void fillNode(int node, Color color) {
+                if (nodes[node] != null) nodes[node].getCircle().setFill(color);
+            }
+
+            @Override
+            public void strokeEdge(int edge, Color color, double width) {
+                if (edges[edge] != null) edges[edge].setLineStyle(color, width);
+            }
+        };
+    }
+
+    /** Every node and edge of the last rendered graph back to one style. */
+    public void resetStyles(Color nodeColor, Color edgeColor, double edgeWidth) {
+        if (canvasMode) {
+            if (canvas != null) canvas.resetStyles(nodeColor, edgeColor, edgeWidth);
+            return;
+        }
+        viewNodes.forEach(v -> v.getCircle().setFill(nodeColor));
+        viewEdges.forEach(edge -> edge.setLineStyle(edgeColor, edgeWidth));
+    }
+
     public List<NodeView> getViewNodes() {
         return viewNodes;
     }
@@ -118,4 +223,47 @@ public class GraphRenderer {
     public NodeView getNodeView(Node modelNode) {
         return nodeToViewMap.get(modelNode);
     }
+
+    public Node getNode(NodeView viewNode) {
+        return viewToNodeMap.get(viewNode);
+    }
+
+    // null si la arista no se pudo dibujar (alguno de sus extremos no tiene vista)
+    public EdgeView getEdgeView(Edge modelEdge) {
+        return edgeToViewMap.get(modelEdge);
+    }
+
+    // Recoloca los nodos ya creados, p. ej. con la disposición guardada en una instantánea
+    public void applyLayout(GeometricAStar.Coordinates layout) {
+        nodeToViewMap.forEach((node, view) -> {
+            view.getCircle().setCenterX(layout.x(node));
+            view.getCircle().setCenterY(layout.y(node));
+        });
+        nodePositions.forEach((node, position) -> {
+            position[0] = layout.x(node);
+            position[1] = layout.y(node);
+        });
+        if (canvas != null) canvas.positionsChanged();
+    }
+
+    // Centro actual de cada círculo (incluye los nodos que el usuario ha arrastrado)
+    public GeometricAStar.Coordinates getNodeCoordinates() {
+        return new GeometricAStar.Coordinates() {
+            @Override
+            public double x(Node node) {
+                NodeView view = nodeToViewMap.get(node);
+                if (view != null) return view.getCircle().getCenterX();
+                double[] position = nodePositions.get(node);
+                return position == null ? 0 : position[0];
+            }
+
+            @Override
+            public double y(Node node) {
+                NodeView view = nodeToViewMap.get(node);
+                if (view != null) return view.getCircle().getCenterY();
+                double[] position = nodePositions.get(node);
+                return position == null ? 0 : position[1];
+            }
+        };
+    }
 }
\ No newline at end of file